@@ -0,0 +1,311 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class that indexes tag information objects with bitsets, for evaluating {@link TagQuery} filters
+ * with word-wide bitwise operations instead of testing each tag. Each bitset has one bit per tag,
+ * addressed by the position of the tag in an array of tag information objects sorted by tag ID.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagBitsetIndex {
+
+  /** Number of bits in each bitset word. */
+  private static final int BITS_PER_WORD = 32;
+
+  /** Shift to convert a position to the index of its bitset word. */
+  private static final int WORD_INDEX_SHIFT = 5;
+
+  /** Tag groups in the order of {@link #groupBits}. */
+  private static final TagGroup[] TAG_GROUPS = {TagGroup.A, TagGroup.B, TagGroup.C, TagGroup.D};
+
+  /** Tags in the same order as the bitset bits, sorted by tag ID. */
+  private final TagInfo[] tags;
+
+  /** Number of indexed tags. */
+  private final int count;
+
+  /** Number of words in each bitset. */
+  private final int wordCount;
+
+  /** Bitsets of tags in each tag group, in the order of {@link #TAG_GROUPS}. */
+  private final int[][] groupBits;
+
+  /** Bitsets of tags of each tag type, indexed by tag type integer. */
+  private final int[][] typeBits;
+
+  /** Bitset of tags with historical logging enabled. */
+  private final int[] historicalLogBits;
+
+  /** Bitset of tags with real time logging enabled. */
+  private final int[] realTimeLogBits;
+
+  /**
+   * Constructor for a tag bitset index over the first <code>count</code> tag information objects of
+   * the specified array. The tag information objects must be non-null and sorted by tag ID.
+   *
+   * @param tags tag information objects sorted by tag ID
+   * @param count number of array elements to index
+   */
+  TagBitsetIndex(TagInfo[] tags, int count) {
+    this.tags = tags;
+    this.count = count;
+    wordCount = (count + BITS_PER_WORD - 1) >>> WORD_INDEX_SHIFT;
+
+    groupBits = new int[TAG_GROUPS.length][wordCount];
+    typeBits = new int[TagType.TYPE_INT_COUNT][wordCount];
+    historicalLogBits = new int[wordCount];
+    realTimeLogBits = new int[wordCount];
+
+    for (int position = 0; position < count; position++) {
+      final TagInfo tagInfo = tags[position];
+      final int word = position >>> WORD_INDEX_SHIFT;
+      final int bit = 1 << position;
+
+      final int groupMask = tagInfo.getGroupMask();
+      for (int group = 0; group < groupBits.length; group++) {
+        if ((groupMask & TAG_GROUPS[group].getMask()) != 0) {
+          groupBits[group][word] |= bit;
+        }
+      }
+      if (tagInfo.getType() != null) {
+        typeBits[tagInfo.getType().getTypeInt()][word] |= bit;
+      }
+      if (tagInfo.isHistoricalLogEnabled()) {
+        historicalLogBits[word] |= bit;
+      }
+      if (tagInfo.isRealTimeLogEnabled()) {
+        realTimeLogBits[word] |= bit;
+      }
+    }
+  }
+
+  /**
+   * Evaluates the specified query, and returns a bitset of the positions of matching tags.
+   *
+   * @param query query to evaluate
+   * @return bitset of matching tag positions
+   */
+  int[] evaluate(TagQuery query) {
+    int[] result = new int[wordCount];
+    final int startPosition = findPosition(query.getMinTagId());
+    final int endPosition = findPosition(query.getMaxTagId() + 1L);
+    if (startPosition < endPosition) {
+      final int endWord = (endPosition - 1) >>> WORD_INDEX_SHIFT;
+      for (int word = startPosition >>> WORD_INDEX_SHIFT; word <= endWord; word++) {
+        result[word] = matchWord(query, word, startPosition, endPosition);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of tags matching the specified query, without creating a result bitset.
+   *
+   * @param query query to evaluate
+   * @return number of matching tags
+   */
+  int count(TagQuery query) {
+    int matchCount = 0;
+    final int startPosition = findPosition(query.getMinTagId());
+    final int endPosition = findPosition(query.getMaxTagId() + 1L);
+    if (startPosition < endPosition) {
+      final int endWord = (endPosition - 1) >>> WORD_INDEX_SHIFT;
+      for (int word = startPosition >>> WORD_INDEX_SHIFT; word <= endWord; word++) {
+        matchCount += countBits(matchWord(query, word, startPosition, endPosition));
+      }
+    }
+    return matchCount;
+  }
+
+  /**
+   * Passes each tag matching the specified query to the specified visitor, in ascending tag ID
+   * order, without creating a result bitset or list.
+   *
+   * @param query query to evaluate
+   * @param visitor visitor to pass matching tags to
+   */
+  void forEach(TagQuery query, TagInfoVisitor visitor) {
+    final int startPosition = findPosition(query.getMinTagId());
+    final int endPosition = findPosition(query.getMaxTagId() + 1L);
+    if (startPosition < endPosition) {
+      final int endWord = (endPosition - 1) >>> WORD_INDEX_SHIFT;
+      for (int word = startPosition >>> WORD_INDEX_SHIFT; word <= endWord; word++) {
+        int wordBits = matchWord(query, word, startPosition, endPosition);
+        while (wordBits != 0) {
+          final int position = (word << WORD_INDEX_SHIFT) + numberOfTrailingZeros(wordBits);
+          if (!visitor.visitTag(tags[position])) {
+            return;
+          }
+          wordBits &= wordBits - 1;
+        }
+      }
+    }
+  }
+
+  /**
+   * Evaluates the specified query for the tags of a single bitset word, restricted to the specified
+   * range of tag positions.
+   *
+   * @param query query to evaluate
+   * @param word index of the bitset word
+   * @param startPosition first tag position in range
+   * @param endPosition tag position after the last tag position in range
+   * @return bitset word of matching tag positions
+   */
+  private int matchWord(TagQuery query, int word, int startPosition, int endPosition) {
+    // Restrict to positions of tag ID range
+    int bits = -1;
+    if (word == startPosition >>> WORD_INDEX_SHIFT) {
+      bits &= -1 << startPosition;
+    }
+    if (word == (endPosition - 1) >>> WORD_INDEX_SHIFT) {
+      bits &= -1 >>> (BITS_PER_WORD - 1 - ((endPosition - 1) & (BITS_PER_WORD - 1)));
+    }
+
+    // Apply filters
+    final int groupMask = query.getGroupMask();
+    if (groupMask != 0) {
+      int groupWordBits = 0;
+      for (int group = 0; group < groupBits.length; group++) {
+        if ((groupMask & TAG_GROUPS[group].getMask()) != 0) {
+          groupWordBits |= groupBits[group][word];
+        }
+      }
+      bits &= groupWordBits;
+    }
+    final int typeMask = query.getTypeMask();
+    if (typeMask != 0) {
+      int typeWordBits = 0;
+      for (int type = 0; type < typeBits.length; type++) {
+        if ((typeMask & (1 << type)) != 0) {
+          typeWordBits |= typeBits[type][word];
+        }
+      }
+      bits &= typeWordBits;
+    }
+    if (query.getHistoricalLogFilter() != TagQuery.FILTER_ANY) {
+      bits &=
+          query.getHistoricalLogFilter() == TagQuery.FILTER_TRUE
+              ? historicalLogBits[word]
+              : ~historicalLogBits[word];
+    }
+    if (query.getRealTimeLogFilter() != TagQuery.FILTER_ANY) {
+      bits &=
+          query.getRealTimeLogFilter() == TagQuery.FILTER_TRUE
+              ? realTimeLogBits[word]
+              : ~realTimeLogBits[word];
+    }
+    return bits;
+  }
+
+  /**
+   * Gets the number of set bits in the specified bitset.
+   *
+   * @param bits bitset
+   * @return number of set bits
+   */
+  static int countBits(int[] bits) {
+    int setBitCount = 0;
+    for (int word = 0; word < bits.length; word++) {
+      setBitCount += countBits(bits[word]);
+    }
+    return setBitCount;
+  }
+
+  /**
+   * Gets the number of set bits in the specified bitset word.
+   *
+   * @param wordBits bitset word
+   * @return number of set bits
+   */
+  private static int countBits(int wordBits) {
+    int setBitCount = 0;
+    while (wordBits != 0) {
+      wordBits &= wordBits - 1;
+      setBitCount++;
+    }
+    return setBitCount;
+  }
+
+  /**
+   * Gets the position of the next set bit in the specified bitset, at or after the specified
+   * position.
+   *
+   * @param bits bitset
+   * @param fromPosition position to start from
+   * @return position of the next set bit, or -1 if there are no more set bits
+   */
+  static int nextSetBit(int[] bits, int fromPosition) {
+    int word = fromPosition >>> WORD_INDEX_SHIFT;
+    if (word >= bits.length) {
+      return -1;
+    }
+    int wordBits = bits[word] & (-1 << fromPosition);
+    while (true) {
+      if (wordBits != 0) {
+        return (word << WORD_INDEX_SHIFT) + numberOfTrailingZeros(wordBits);
+      }
+      if (++word == bits.length) {
+        return -1;
+      }
+      wordBits = bits[word];
+    }
+  }
+
+  /**
+   * Gets the tag ID of the tag at the specified position.
+   *
+   * @param position tag position
+   * @return tag ID
+   */
+  int getTagId(int position) {
+    return tags[position].getId();
+  }
+
+  /**
+   * Gets the tag information object at the specified position.
+   *
+   * @param position tag position
+   * @return tag information object
+   */
+  TagInfo getTagInfo(int position) {
+    return tags[position];
+  }
+
+  /**
+   * Finds the position of the first tag with a tag ID greater than or equal to the specified tag
+   * ID.
+   *
+   * @param tagId tag ID
+   * @return position of the first tag with a greater or equal tag ID, or the tag count if none
+   */
+  private int findPosition(long tagId) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (tags[mid].getId() < tagId) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Gets the number of trailing zero bits of the specified non-zero word.
+   *
+   * @param wordBits non-zero word
+   * @return number of trailing zero bits
+   */
+  private static int numberOfTrailingZeros(int wordBits) {
+    int zeros = 0;
+    while ((wordBits & 1) == 0) {
+      wordBits >>>= 1;
+      zeros++;
+    }
+    return zeros;
+  }
+}
@@ -0,0 +1,184 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import com.hms_networks.americas.sc.logging.Logger;
+import com.hms_networks.americas.sc.string.QuoteSafeStringTokenizer;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Class that reads the response of an Ewon Export Block Descriptor (EBD) in fixed-size blocks and
+ * splits it into lines. The block window and line buffer are allocated once and reused for every
+ * line and every stream, so reading an export does not allocate per byte or per line.
+ *
+ * <p>Line handling matches the byte-by-byte reading previously performed by {@link
+ * TagInfoManager#refreshTagList()}: lines end at {@link TagConstants#TAG_EBD_NEW_LINE}, bytes
+ * matching {@link TagConstants#TAG_EBD_CARRIAGE_RETURN} or {@link
+ * TagConstants#TAG_EBD_END_OF_STREAM} are discarded, and data following the last new line is
+ * ignored.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagEBDLineReader {
+
+  /** Size of the block window used to read from the EBD stream. */
+  private static final int BLOCK_SIZE_BYTES = 4096;
+
+  /** Block window for bytes read from the EBD stream. */
+  private final byte[] block = new byte[BLOCK_SIZE_BYTES];
+
+  /** Buffer holding the bytes of the current line. */
+  private final byte[] line;
+
+  /** Name of the EBD source, used in error messages. */
+  private final String sourceName;
+
+  /** EBD stream currently being read. */
+  private InputStream stream;
+
+  /** Index of the next unread byte in the block window. */
+  private int blockPosition;
+
+  /** Number of valid bytes in the block window. */
+  private int blockLength;
+
+  /** Number of valid bytes in the line buffer. */
+  private int lineLength;
+
+  /** Line number of the current line, starting at 0 for the header line. */
+  private int lineNumber;
+
+  /**
+   * Constructor for an EBD line reader with the specified maximum line length.
+   *
+   * @param maxLineBytes maximum number of bytes in a line
+   * @param sourceName name of the EBD source, used in error messages
+   */
+  TagEBDLineReader(int maxLineBytes, String sourceName) {
+    this.line = new byte[maxLineBytes];
+    this.sourceName = sourceName;
+  }
+
+  /**
+   * Resets the reader to begin reading lines from the specified EBD stream.
+   *
+   * @param stream EBD stream to read
+   */
+  void reset(InputStream stream) {
+    this.stream = stream;
+    blockPosition = 0;
+    blockLength = 0;
+    lineLength = 0;
+    lineNumber = TagConstants.UNINIT_INT_VAL;
+  }
+
+  /**
+   * Reads the next complete line from the EBD stream into the line buffer.
+   *
+   * @return true if a line was read, false if the end of the stream was reached
+   * @throws IOException if reading from the EBD stream fails
+   * @throws TagInfoBufferException if the line exceeds the maximum line length
+   */
+  boolean nextLine() throws IOException {
+    lineLength = 0;
+    lineNumber++;
+
+    while (true) {
+      // Refill block window when all bytes have been scanned
+      if (blockPosition >= blockLength) {
+        final int available = stream.available();
+        if (available <= 0) {
+          return false;
+        }
+        blockLength = stream.read(block, 0, Math.min(available, BLOCK_SIZE_BYTES));
+        blockPosition = 0;
+        if (blockLength <= 0) {
+          blockLength = 0;
+          return false;
+        }
+      }
+
+      // Scan block window for end of line
+      while (blockPosition < blockLength) {
+        final byte currentByteRead = block[blockPosition++];
+        if (currentByteRead == TagConstants.TAG_EBD_NEW_LINE) {
+          return true;
+        }
+
+        if (currentByteRead != TagConstants.TAG_EBD_END_OF_STREAM
+            && currentByteRead != TagConstants.TAG_EBD_CARRIAGE_RETURN) {
+          // Maintain a maximum limit for line length
+          if (lineLength == line.length) {
+            throwLineCapacityExceeded();
+          }
+          line[lineLength++] = currentByteRead;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the buffer containing the current line. Only the first {@link #getLineLength()} bytes are
+   * valid, and the contents are replaced by the next call to {@link #nextLine()}.
+   *
+   * @return current line buffer
+   */
+  byte[] getLine() {
+    return line;
+  }
+
+  /**
+   * Gets the number of valid bytes in the current line buffer.
+   *
+   * @return current line length
+   */
+  int getLineLength() {
+    return lineLength;
+  }
+
+  /**
+   * Gets the line number of the current line. The header line is line 0.
+   *
+   * @return current line number
+   */
+  int getLineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Logs the line number and tag name of the current line, then throws a {@link
+   * TagInfoBufferException} to indicate that the line exceeds the maximum line length.
+   *
+   * @throws TagInfoBufferException always
+   */
+  private void throwLineCapacityExceeded() throws TagInfoBufferException {
+    // Find the tag name of the error line
+    final String delimiter = ";";
+    final int indexName = 1;
+    final boolean returnDelimiters = false;
+    String errorLineTagName = "NotFound";
+    QuoteSafeStringTokenizer quoteSafeStringTokenizer =
+        new QuoteSafeStringTokenizer(new String(line, 0, lineLength), delimiter, returnDelimiters);
+
+    String currentToken = "";
+    while (quoteSafeStringTokenizer.hasMoreElements()
+        && quoteSafeStringTokenizer.getPrevTokenIndex() < indexName) {
+      currentToken = quoteSafeStringTokenizer.nextToken();
+    }
+
+    if (quoteSafeStringTokenizer.getPrevTokenIndex() == indexName) {
+      errorLineTagName = currentToken;
+    }
+
+    // Log the error line number and tag name
+    Logger.LOG_CRITICAL(
+        "Line "
+            + lineNumber
+            + " for tag name "
+            + errorLineTagName
+            + " from "
+            + sourceName
+            + " exceeds max capacity, throwing IOException.");
+    throw new TagInfoBufferException("Line input exceeds max buffer capacity.");
+  }
+}
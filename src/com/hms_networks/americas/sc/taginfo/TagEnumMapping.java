@@ -0,0 +1,202 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.util.Arrays;
+
+/**
+ * Class to hold the int to string enumeration mapping of a {@link TagType#INTEGER_MAPPED_STRING}
+ * tag. The mapping adapts its layout to its keys:
+ *
+ * <ul>
+ *   <li>Dense: when the range from the lowest to the highest key has few unmapped values, strings
+ *       are stored in an array indexed by key, with an offset of the lowest key.
+ *   <li>Sparse: otherwise, keys and strings are stored in sorted parallel arrays, and values are
+ *       resolved by binary search.
+ * </ul>
+ *
+ * <p>Mappings are immutable, and {@link #resolve(int, String)} does not allocate.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagEnumMapping {
+
+  /**
+   * Maximum number of unmapped values in the key range for each mapped key, for which the dense
+   * layout is used.
+   */
+  private static final int DENSE_MAX_UNMAPPED_PER_KEY = 1;
+
+  /** Strings indexed by key with an offset of {@link #denseLowestKey}, or null if sparse. */
+  private final String[] denseStrings;
+
+  /** Lowest key of the dense layout. */
+  private final int denseLowestKey;
+
+  /** Sorted keys of the sparse layout, or null if dense. */
+  private final int[] sparseKeys;
+
+  /** Strings of the sparse layout, in the order of {@link #sparseKeys}, or null if dense. */
+  private final String[] sparseStrings;
+
+  /** Array of strings indexed by key, or null if not yet built. */
+  private volatile String[] keyIndexedStrings;
+
+  /**
+   * Private (internal) constructor for a mapping with the specified layout arrays.
+   *
+   * @param denseStrings strings indexed by key with an offset of the lowest key, or null if sparse
+   * @param denseLowestKey lowest key of the dense layout
+   * @param sparseKeys sorted keys of the sparse layout, or null if dense
+   * @param sparseStrings strings of the sparse layout, or null if dense
+   */
+  private TagEnumMapping(
+      String[] denseStrings, int denseLowestKey, int[] sparseKeys, String[] sparseStrings) {
+    this.denseStrings = denseStrings;
+    this.denseLowestKey = denseLowestKey;
+    this.sparseKeys = sparseKeys;
+    this.sparseStrings = sparseStrings;
+    if (denseStrings != null && denseLowestKey == 0) {
+      keyIndexedStrings = denseStrings;
+    }
+  }
+
+  /**
+   * Creates a mapping from the specified array of strings indexed by key. The array is used
+   * directly, and must not be modified.
+   *
+   * @param keyIndexedStrings array of strings, where the key is the array index
+   * @return int to string enumeration mapping
+   */
+  static TagEnumMapping fromArray(String[] keyIndexedStrings) {
+    return new TagEnumMapping(keyIndexedStrings, 0, null, null);
+  }
+
+  /**
+   * Creates a mapping of the first <code>count</code> keys and strings of the specified parallel
+   * arrays, choosing the dense or sparse layout from the range of the keys. If a key is repeated,
+   * the last string for the key is used. The specified arrays are reordered.
+   *
+   * @param keys keys of the mapping
+   * @param strings strings of the mapping, in the order of the keys
+   * @param count number of keys
+   * @return int to string enumeration mapping
+   */
+  static TagEnumMapping create(int[] keys, String[] strings, int count) {
+    // Sort keys packed with their original index, keeping repeated keys in their original order
+    final long[] sortedKeyIndices = new long[count];
+    for (int i = 0; i < count; i++) {
+      sortedKeyIndices[i] = ((long) keys[i] << 32) | i;
+    }
+    Arrays.sort(sortedKeyIndices);
+    final String[] unsortedStrings = new String[count];
+    System.arraycopy(strings, 0, unsortedStrings, 0, count);
+    for (int i = 0; i < count; i++) {
+      keys[i] = (int) (sortedKeyIndices[i] >> 32);
+      strings[i] = unsortedStrings[(int) sortedKeyIndices[i]];
+    }
+
+    // Remove repeated keys, keeping the last string
+    int uniqueCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (uniqueCount > 0 && keys[uniqueCount - 1] == keys[i]) {
+        uniqueCount--;
+      }
+      keys[uniqueCount] = keys[i];
+      strings[uniqueCount] = strings[i];
+      uniqueCount++;
+    }
+    if (uniqueCount == 0) {
+      return new TagEnumMapping(new String[0], 0, null, null);
+    }
+
+    // Use dense layout if few values in key range are unmapped
+    final long keyRange = (long) keys[uniqueCount - 1] - keys[0] + 1;
+    if (keyRange - uniqueCount <= (long) uniqueCount * DENSE_MAX_UNMAPPED_PER_KEY) {
+      String[] dense = new String[(int) keyRange];
+      for (int i = 0; i < uniqueCount; i++) {
+        dense[keys[i] - keys[0]] = strings[i];
+      }
+      return new TagEnumMapping(dense, keys[0], null, null);
+    }
+
+    int[] sparseKeys = new int[uniqueCount];
+    String[] sparseStrings = new String[uniqueCount];
+    System.arraycopy(keys, 0, sparseKeys, 0, uniqueCount);
+    System.arraycopy(strings, 0, sparseStrings, 0, uniqueCount);
+    return new TagEnumMapping(null, 0, sparseKeys, sparseStrings);
+  }
+
+  /**
+   * Gets the string mapped to the specified value, or the specified fallback if the value is not
+   * mapped.
+   *
+   * @param value tag value
+   * @param fallback string to return if the value is not mapped
+   * @return mapped string, or the fallback
+   */
+  public String resolve(int value, String fallback) {
+    String resolved = null;
+    if (denseStrings != null) {
+      final long index = (long) value - denseLowestKey;
+      if (index >= 0 && index < denseStrings.length) {
+        resolved = denseStrings[(int) index];
+      }
+    } else {
+      int low = 0;
+      int high = sparseKeys.length - 1;
+      while (low <= high) {
+        final int mid = (low + high) >>> 1;
+        if (sparseKeys[mid] < value) {
+          low = mid + 1;
+        } else if (sparseKeys[mid] > value) {
+          high = mid - 1;
+        } else {
+          resolved = sparseStrings[mid];
+          break;
+        }
+      }
+    }
+    return resolved != null ? resolved : fallback;
+  }
+
+  /**
+   * Gets if the mapping uses the dense layout.
+   *
+   * @return true if dense, false if sparse
+   */
+  boolean isDense() {
+    return denseStrings != null;
+  }
+
+  /**
+   * Gets the mapping as an array of strings indexed by key, with null elements for unmapped keys.
+   * Negative keys are not included. The array is created by the first call for mappings without a
+   * dense layout starting at key 0, and reused afterwards. The returned array must not be modified.
+   *
+   * @return array of strings indexed by key
+   */
+  String[] toArray() {
+    String[] array = keyIndexedStrings;
+    if (array == null) {
+      // Concurrent readers may each create the same array, which is harmless as the arrays are
+      // equal
+      if (denseStrings != null) {
+        final int highestKey = denseLowestKey + denseStrings.length - 1;
+        array = new String[Math.max(highestKey + 1, 0)];
+        for (int key = Math.max(denseLowestKey, 0); key <= highestKey; key++) {
+          array[key] = denseStrings[key - denseLowestKey];
+        }
+      } else {
+        final int highestKey = sparseKeys[sparseKeys.length - 1];
+        array = new String[Math.max(highestKey + 1, 0)];
+        for (int i = 0; i < sparseKeys.length; i++) {
+          if (sparseKeys[i] >= 0) {
+            array[sparseKeys[i]] = sparseStrings[i];
+          }
+        }
+      }
+      keyIndexedStrings = array;
+    }
+    return array;
+  }
+}
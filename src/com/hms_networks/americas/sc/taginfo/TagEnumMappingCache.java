@@ -0,0 +1,138 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import com.hms_networks.americas.sc.fileutils.FileAccessManager;
+import com.hms_networks.americas.sc.json.JSONArray;
+import com.hms_networks.americas.sc.json.JSONException;
+import com.hms_networks.americas.sc.json.JSONObject;
+import com.hms_networks.americas.sc.logging.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.util.Hashtable;
+
+/**
+ * Class that caches the parsed contents of the int to string enumeration file. The file is read and
+ * parsed once into a table of tag name to {@link TagEnumMapping} mappings, and is only read again
+ * when its size or modification time changes.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagEnumMappingCache {
+
+  /** File path to the int to string enumeration file. */
+  private final String fileName;
+
+  /** Size of the int to string enumeration file when it was last parsed. */
+  private long cachedFileSize = TagConstants.UNINIT_INT_VAL;
+
+  /** Modification time of the int to string enumeration file when it was last parsed. */
+  private long cachedFileModified = TagConstants.UNINIT_INT_VAL;
+
+  /** Table of tag name to {@link TagEnumMapping} for each enumerated tag. */
+  private Hashtable tagMappings = new Hashtable();
+
+  /**
+   * Constructor for an int to string enumeration cache of the specified file.
+   *
+   * @param fileName file path to the int to string enumeration file
+   */
+  TagEnumMappingCache(String fileName) {
+    this.fileName = fileName;
+  }
+
+  /**
+   * Re-reads and parses the int to string enumeration file if its size or modification time has
+   * changed since it was last parsed. If the file is unchanged, this method returns without
+   * accessing the file contents.
+   *
+   * <p>Tags in the enumerated tag list without valid mappings in the tags object are logged and
+   * skipped, so they are not enumerated.
+   *
+   * @throws IOException if int to string enumeration file read fails
+   * @throws JSONException if int to string enumeration JSON parse fails
+   */
+  synchronized void refresh() throws IOException, JSONException {
+    File file = new File(fileName);
+    final long fileSize = file.length();
+    final long fileModified = file.lastModified();
+    if (fileSize == cachedFileSize && fileModified == cachedFileModified) {
+      return;
+    }
+
+    // Invalidate cache until file has been parsed successfully
+    cachedFileSize = TagConstants.UNINIT_INT_VAL;
+    cachedFileModified = TagConstants.UNINIT_INT_VAL;
+
+    JSONObject allTagIntToStringMappingsJson =
+        new JSONObject(FileAccessManager.readFileToString(fileName));
+    JSONArray tagListJsonArray = (JSONArray) allTagIntToStringMappingsJson.get("enumeratedTagList");
+    JSONObject tagIntToStringMappingsJson = (JSONObject) allTagIntToStringMappingsJson.get("tags");
+
+    Hashtable mappings = new Hashtable();
+    final int tagListJsonArrayLength = tagListJsonArray.length();
+    for (int i = 0; i < tagListJsonArrayLength; i++) {
+      String tagName = tagListJsonArray.getString(i);
+
+      // Skip listed tags without valid mappings, which may not exist on the device
+      if (!tagIntToStringMappingsJson.has(tagName)) {
+        Logger.LOG_WARN(
+            "Int to string enumeration tag " + tagName + " has no mappings, and is skipped.");
+        continue;
+      }
+      try {
+        mappings.put(
+            tagName, parseTagMappings((JSONArray) tagIntToStringMappingsJson.get(tagName)));
+      } catch (Exception e) {
+        Logger.LOG_WARN(
+            "Int to string enumeration tag "
+                + tagName
+                + " has invalid mappings, and is skipped: "
+                + e);
+      }
+    }
+
+    tagMappings = mappings;
+    cachedFileSize = fileSize;
+    cachedFileModified = fileModified;
+  }
+
+  /**
+   * Gets the table of tag name to {@link TagEnumMapping} for each enumerated tag, as of the last
+   * call to {@link #refresh()}. The returned table must not be modified.
+   *
+   * @return table of enumerated tag name to string mappings
+   */
+  synchronized Hashtable getTagMappings() {
+    return tagMappings;
+  }
+
+  /**
+   * Parses the int to string enumerations of a single tag into a {@link TagEnumMapping}, which uses
+   * a dense or sparse layout depending on the range of its integer keys.
+   *
+   * @param tagIntToStringMappingsJsonArray JSON array of the tag's int to string enumerations
+   * @return string mapping corresponding to the tag
+   * @throws JSONException if int to string enumeration JSON parse fails
+   * @throws NumberFormatException if the key defined in int to string enum mappings is not an
+   *     integer
+   */
+  private static TagEnumMapping parseTagMappings(JSONArray tagIntToStringMappingsJsonArray)
+      throws JSONException {
+    final int length = tagIntToStringMappingsJsonArray.length();
+    int[] keys = new int[length];
+    String[] strings = new String[length];
+
+    /* Int to string enumerations are held in a JSON array of one key/value pair for each index in the array.
+     * To get the key of a key value pair, get the first(only) item returned by JSONObject.names()
+     * for the JSON object index.
+     */
+    final int tagIntToStringEnumStringKeyIndex = 0;
+    for (int i = 0; i < length; i++) {
+      JSONObject jsonObject = (JSONObject) tagIntToStringMappingsJsonArray.get(i);
+      String mappingKey = (String) jsonObject.names().get(tagIntToStringEnumStringKeyIndex);
+      keys[i] = Integer.parseInt(mappingKey);
+      strings[i] = (String) jsonObject.get(mappingKey);
+    }
+    return TagEnumMapping.create(keys, strings, length);
+  }
+}
@@ -0,0 +1,133 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class that maps tag IDs to the fingerprint of their parsed tag list columns and the {@link
+ * TagInfo} object created from those columns. The table is used by incremental tag list refreshes
+ * to reuse the {@link TagInfo} objects of tags that have not changed since the previous refresh.
+ *
+ * <p>The table uses open addressing with a fixed capacity chosen at construction, so adding tags
+ * does not allocate. A table can be cleared and reused by later refreshes with up to the same
+ * number of tags.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagFingerprintTable {
+
+  /** Tag IDs of each slot. */
+  private final int[] slotTagIds;
+
+  /** Fingerprints of each slot. */
+  private final long[] slotFingerprints;
+
+  /** Tag information objects of each slot, or null for empty slots. */
+  private final TagInfo[] slotTags;
+
+  /** Bit mask for wrapping slot indices. */
+  private final int slotMask;
+
+  /** Maximum number of tags the table can hold. */
+  private final int maxSize;
+
+  /** Number of tags in the table. */
+  private int size;
+
+  /**
+   * Constructor for a tag fingerprint table able to hold the specified number of tags.
+   *
+   * @param maxSize maximum number of tags
+   */
+  TagFingerprintTable(int maxSize) {
+    // Use a power of two capacity with a load factor of at most 0.5
+    int capacity = 2;
+    while (capacity < maxSize * 2) {
+      capacity <<= 1;
+    }
+    slotTagIds = new int[capacity];
+    slotFingerprints = new long[capacity];
+    slotTags = new TagInfo[capacity];
+    slotMask = capacity - 1;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Adds or replaces the fingerprint and tag information object of the specified tag ID. If the
+   * table is full, the tag is not added.
+   *
+   * @param tagId tag ID
+   * @param fingerprint fingerprint of the tag's parsed columns
+   * @param tagInfo tag information object created from the tag's parsed columns
+   */
+  void put(int tagId, long fingerprint, TagInfo tagInfo) {
+    int slot = hash(tagId) & slotMask;
+    while (slotTags[slot] != null && slotTagIds[slot] != tagId) {
+      slot = (slot + 1) & slotMask;
+    }
+    if (slotTags[slot] == null) {
+      if (size == maxSize) {
+        return;
+      }
+      size++;
+    }
+    slotTagIds[slot] = tagId;
+    slotFingerprints[slot] = fingerprint;
+    slotTags[slot] = tagInfo;
+  }
+
+  /**
+   * Gets the tag information object of the specified tag ID, if its fingerprint matches the
+   * specified fingerprint.
+   *
+   * @param tagId tag ID
+   * @param fingerprint fingerprint of the tag's parsed columns
+   * @return tag information object, or null if the tag ID is not present or its fingerprint does
+   *     not match
+   */
+  TagInfo get(int tagId, long fingerprint) {
+    int slot = hash(tagId) & slotMask;
+    while (slotTags[slot] != null) {
+      if (slotTagIds[slot] == tagId) {
+        return slotFingerprints[slot] == fingerprint ? slotTags[slot] : null;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+    return null;
+  }
+
+  /** Removes all tags from the table, keeping its capacity. */
+  void clear() {
+    for (int slot = 0; slot < slotTags.length; slot++) {
+      slotTags[slot] = null;
+    }
+    size = 0;
+  }
+
+  /**
+   * Gets the maximum number of tags the table can hold.
+   *
+   * @return maximum number of tags
+   */
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Gets the number of tags in the table.
+   *
+   * @return number of tags
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Spreads a tag ID over the table slots.
+   *
+   * @param tagId tag ID
+   * @return spread hash of the tag ID
+   */
+  private static int hash(int tagId) {
+    final int hash = tagId * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -1,5 +1,7 @@
 package com.hms_networks.americas.sc.taginfo;
 
+import java.util.List;
+
 /**
  * Class to represent a tag group in a similar fashion to enums in Java 1.5+.
  *
@@ -20,31 +22,79 @@ public class TagGroup {
   /** String assigned to represent tag group D. */
   private static final String GROUP_D_STR = "D";
 
+  /** Bit mask assigned to represent tag group A. */
+  private static final int GROUP_A_MASK = 0x1;
+
+  /** Bit mask assigned to represent tag group B. */
+  private static final int GROUP_B_MASK = 0x2;
+
+  /** Bit mask assigned to represent tag group C. */
+  private static final int GROUP_C_MASK = 0x4;
+
+  /** Bit mask assigned to represent tag group D. */
+  private static final int GROUP_D_MASK = 0x8;
+
+  /** Bit mask of all tag groups. */
+  static final int ALL_GROUPS_MASK = GROUP_A_MASK | GROUP_B_MASK | GROUP_C_MASK | GROUP_D_MASK;
+
   /** Public instance of {@link TagGroup} representing tag group A. */
-  public static final TagGroup A = new TagGroup(GROUP_A_STR);
+  public static final TagGroup A = new TagGroup(GROUP_A_STR, GROUP_A_MASK);
 
   /** Public instance of {@link TagGroup} representing tag group B. */
-  public static final TagGroup B = new TagGroup(GROUP_B_STR);
+  public static final TagGroup B = new TagGroup(GROUP_B_STR, GROUP_B_MASK);
 
   /** Public instance of {@link TagGroup} representing tag group C. */
-  public static final TagGroup C = new TagGroup(GROUP_C_STR);
+  public static final TagGroup C = new TagGroup(GROUP_C_STR, GROUP_C_MASK);
 
   /** Public instance of {@link TagGroup} representing tag group D. */
-  public static final TagGroup D = new TagGroup(GROUP_D_STR);
+  public static final TagGroup D = new TagGroup(GROUP_D_STR, GROUP_D_MASK);
 
   /** Instance tag group string */
   private final String groupLetter;
 
+  /** Instance tag group bit mask */
+  private final int groupMask;
+
   /**
    * Private (internal) constructor for creating an instance of {@link TagGroup} with a tag group
    * letter.
    *
-   * <p>Note: Tag group letter shall be unique.
+   * <p>Note: Tag group letter and bit mask shall be unique.
    *
    * @param groupLetter letter to represent tag group
+   * @param groupMask single bit mask to represent tag group
    */
-  private TagGroup(String groupLetter) {
+  private TagGroup(String groupLetter, int groupMask) {
     this.groupLetter = groupLetter;
+    this.groupMask = groupMask;
+  }
+
+  /**
+   * Get the tag group bit mask. Each tag group is represented by a unique single bit, allowing
+   * combinations of tag groups to be represented by a single integer.
+   *
+   * @return tag group bit mask
+   */
+  public int getMask() {
+    return groupMask;
+  }
+
+  /**
+   * Get the combined bit mask of the specified list of tag groups. Elements that are not {@link
+   * TagGroup} instances are ignored.
+   *
+   * @param tagGroups list of tag groups
+   * @return combined tag group bit mask
+   */
+  static int getMask(List tagGroups) {
+    int combinedMask = 0;
+    for (int i = 0; i < tagGroups.size(); i++) {
+      Object tagGroup = tagGroups.get(i);
+      if (tagGroup instanceof TagGroup) {
+        combinedMask |= ((TagGroup) tagGroup).getMask();
+      }
+    }
+    return combinedMask;
   }
 
   /**
@@ -0,0 +1,154 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class that memoizes the read-only filtered lists of {@link TagInfo} objects for each combination
+ * of {@link TagGroup}s: all tags, tags with real time logging enabled, and tags with historical
+ * logging enabled. Each filtered list is built by visiting the matching tags with a {@link
+ * TagBitsetIndex}.
+ *
+ * <p>The real time and historical logging lists of each single tag group are built when the index
+ * is constructed, so that they are ready for publishing loops as soon as the tag list is refreshed.
+ * All other lists are built when first requested.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagGroupIndex {
+
+  /** Number of possible tag group combinations, including the empty combination. */
+  private static final int NUM_GROUP_COMBINATIONS = TagGroup.ALL_GROUPS_MASK + 1;
+
+  /** Read-only empty tag information list. */
+  private static final List EMPTY_LIST =
+      Collections.unmodifiableList(Arrays.asList(new TagInfo[0]));
+
+  /** Bitset index used to find the tags in each tag group combination. */
+  private final TagBitsetIndex bitsetIndex;
+
+  /** Memoized read-only tag information lists, indexed by tag group combination bit mask. */
+  private final List[] filteredLists = new List[NUM_GROUP_COMBINATIONS];
+
+  /**
+   * Memoized read-only lists of tags with real time logging enabled, indexed by tag group
+   * combination bit mask.
+   */
+  private final List[] realTimeLists = new List[NUM_GROUP_COMBINATIONS];
+
+  /**
+   * Memoized read-only lists of tags with historical logging enabled, indexed by tag group
+   * combination bit mask.
+   */
+  private final List[] historicalLists = new List[NUM_GROUP_COMBINATIONS];
+
+  /**
+   * Constructor for a tag group index over the tags of the specified bitset index.
+   *
+   * @param bitsetIndex bitset index of the tags to index
+   */
+  TagGroupIndex(TagBitsetIndex bitsetIndex) {
+    this.bitsetIndex = bitsetIndex;
+    filteredLists[0] = EMPTY_LIST;
+    realTimeLists[0] = EMPTY_LIST;
+    historicalLists[0] = EMPTY_LIST;
+
+    // Build logging lists of each single tag group
+    for (int groupMask = 1; groupMask <= TagGroup.ALL_GROUPS_MASK; groupMask <<= 1) {
+      getRealTimeTagInfoList(groupMask);
+      getHistoricalTagInfoList(groupMask);
+    }
+  }
+
+  /**
+   * Gets a read-only list of the tag information objects that are in at least one of the tag groups
+   * in the specified combination, in tag ID order. The list for each combination is built once and
+   * returned for all subsequent calls.
+   *
+   * @param groupMask tag group combination bit mask
+   * @return read-only filtered tag information list
+   */
+  List getTagInfoList(int groupMask) {
+    final int combination = groupMask & TagGroup.ALL_GROUPS_MASK;
+    List filteredList = filteredLists[combination];
+    if (filteredList == null) {
+      // Concurrent readers may each build the same list, which is harmless as the lists are equal
+      filteredList =
+          Collections.unmodifiableList(
+              Arrays.asList(collect(bitsetIndex, new TagQuery().inGroups(combination))));
+      filteredLists[combination] = filteredList;
+    }
+    return filteredList;
+  }
+
+  /**
+   * Gets a read-only list of the tag information objects with real time logging enabled that are in
+   * at least one of the tag groups in the specified combination, in tag ID order. The list for each
+   * combination is built once and returned for all subsequent calls.
+   *
+   * @param groupMask tag group combination bit mask
+   * @return read-only filtered real time tag information list
+   */
+  List getRealTimeTagInfoList(int groupMask) {
+    final int combination = groupMask & TagGroup.ALL_GROUPS_MASK;
+    List filteredList = realTimeLists[combination];
+    if (filteredList == null) {
+      // Concurrent readers may each build the same list, which is harmless as the lists are equal
+      filteredList =
+          Collections.unmodifiableList(
+              Arrays.asList(
+                  collect(
+                      bitsetIndex, new TagQuery().inGroups(combination).realTimeLogEnabled(true))));
+      realTimeLists[combination] = filteredList;
+    }
+    return filteredList;
+  }
+
+  /**
+   * Gets a read-only list of the tag information objects with historical logging enabled that are
+   * in at least one of the tag groups in the specified combination, in tag ID order. The list for
+   * each combination is built once and returned for all subsequent calls.
+   *
+   * @param groupMask tag group combination bit mask
+   * @return read-only filtered historical tag information list
+   */
+  List getHistoricalTagInfoList(int groupMask) {
+    final int combination = groupMask & TagGroup.ALL_GROUPS_MASK;
+    List filteredList = historicalLists[combination];
+    if (filteredList == null) {
+      // Concurrent readers may each build the same list, which is harmless as the lists are equal
+      filteredList =
+          Collections.unmodifiableList(
+              Arrays.asList(
+                  collect(
+                      bitsetIndex,
+                      new TagQuery().inGroups(combination).historicalLogEnabled(true))));
+      historicalLists[combination] = filteredList;
+    }
+    return filteredList;
+  }
+
+  /**
+   * Gets the tag information objects matching the specified query, in tag ID order.
+   *
+   * @param bitsetIndex bitset index to evaluate the query with
+   * @param query query to evaluate
+   * @return matching tag information objects
+   */
+  private static TagInfo[] collect(TagBitsetIndex bitsetIndex, TagQuery query) {
+    final TagInfo[] matches = new TagInfo[bitsetIndex.count(query)];
+    bitsetIndex.forEach(
+        query,
+        new TagInfoVisitor() {
+          private int matchCount = 0;
+
+          public boolean visitTag(TagInfo tagInfo) {
+            matches[matchCount++] = tagInfo;
+            return true;
+          }
+        });
+    return matches;
+  }
+}
@@ -0,0 +1,156 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Class that maps tag IDs to positions in an array of tag information objects sorted by tag ID. The
+ * layout of the index is chosen from the density of the tag IDs:
+ *
+ * <ul>
+ *   <li>Contiguous: tag IDs have no gaps, and the position is computed from the tag ID without a
+ *       table.
+ *   <li>Dense: tag IDs have few gaps, and positions are stored in a table indexed by tag ID with an
+ *       offset of the lowest tag ID.
+ *   <li>Sparse: tag IDs have many gaps, and positions are found by binary search of the sorted tag
+ *       IDs.
+ * </ul>
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagIdIndex {
+
+  /** Position returned for tag IDs within the tag ID range that have no tag. */
+  static final int NO_POSITION = -1;
+
+  /** Maximum number of tag ID gaps per tag for which the dense layout is used. */
+  private static final int DENSE_MAX_GAPS_PER_TAG = 1;
+
+  /** Comparator for sorting tag information objects by tag ID. */
+  private static final Comparator TAG_ID_COMPARATOR =
+      new Comparator() {
+        public int compare(Object o1, Object o2) {
+          final int tagId1 = ((TagInfo) o1).getId();
+          final int tagId2 = ((TagInfo) o2).getId();
+          return tagId1 < tagId2 ? -1 : (tagId1 == tagId2 ? 0 : 1);
+        }
+      };
+
+  /** Number of indexed tags. */
+  private final int count;
+
+  /** The lowest indexed tag ID. */
+  private final int lowestTagId;
+
+  /** The highest indexed tag ID. */
+  private final int highestTagId;
+
+  /**
+   * Positions plus one, indexed by tag ID with an offset of the lowest tag ID, or null if not using
+   * the dense layout. Tag IDs without a tag have a value of 0.
+   */
+  private final int[] densePositions;
+
+  /** Sorted tag IDs, indexed by position, or null if not using the sparse layout. */
+  private final int[] sortedTagIds;
+
+  /**
+   * Constructor for a tag ID index over the first <code>count</code> tag information objects of the
+   * specified array. The tag information objects must be non-null and sorted by tag ID.
+   *
+   * @param tags tag information objects sorted by tag ID
+   * @param count number of array elements to index
+   */
+  TagIdIndex(TagInfo[] tags, int count) {
+    this.count = count;
+    lowestTagId = count > 0 ? tags[0].getId() : TagConstants.UNINIT_INT_VAL;
+    highestTagId = count > 0 ? tags[count - 1].getId() : TagConstants.UNINIT_INT_VAL;
+
+    final int numTagIdGaps = getTagIdRange() - count;
+    if (numTagIdGaps <= 0) {
+      densePositions = null;
+      sortedTagIds = null;
+    } else if (numTagIdGaps <= count * DENSE_MAX_GAPS_PER_TAG) {
+      densePositions = new int[getTagIdRange()];
+      for (int i = 0; i < count; i++) {
+        densePositions[tags[i].getId() - lowestTagId] = i + 1;
+      }
+      sortedTagIds = null;
+    } else {
+      densePositions = null;
+      sortedTagIds = new int[count];
+      for (int i = 0; i < count; i++) {
+        sortedTagIds[i] = tags[i].getId();
+      }
+    }
+  }
+
+  /**
+   * Sorts the first <code>count</code> tag information objects of the specified array by tag ID.
+   * The tag information objects must be non-null.
+   *
+   * @param tags tag information objects to sort
+   * @param count number of array elements to sort
+   */
+  static void sortByTagId(TagInfo[] tags, int count) {
+    Arrays.sort(tags, 0, count, TAG_ID_COMPARATOR);
+  }
+
+  /**
+   * Gets the number of tag IDs from the lowest to the highest indexed tag ID, inclusive.
+   *
+   * @return tag ID range
+   */
+  int getTagIdRange() {
+    return count > 0 ? highestTagId - lowestTagId + 1 : 0;
+  }
+
+  /**
+   * Gets the name of the layout used by the index.
+   *
+   * @return index layout name
+   */
+  String getLayoutName() {
+    if (densePositions != null) {
+      return "dense";
+    } else if (sortedTagIds != null) {
+      return "sparse";
+    }
+    return "contiguous";
+  }
+
+  /**
+   * Gets the position of the tag with the specified tag ID.
+   *
+   * @throws IndexOutOfBoundsException when the tag ID is outside of the indexed tag ID range
+   * @param tagId tag ID
+   * @return position of the tag, or {@link #NO_POSITION} if no tag has the specified tag ID
+   */
+  int getPosition(int tagId) throws IndexOutOfBoundsException {
+    if (count == 0 || tagId < lowestTagId || tagId > highestTagId) {
+      throw new IndexOutOfBoundsException(
+          "Tag ID " + tagId + " is outside of the tag ID range of the tag information list.");
+    }
+
+    if (densePositions != null) {
+      return densePositions[tagId - lowestTagId] - 1;
+    } else if (sortedTagIds != null) {
+      int low = 0;
+      int high = count - 1;
+      while (low <= high) {
+        final int mid = (low + high) >>> 1;
+        final int midTagId = sortedTagIds[mid];
+        if (midTagId < tagId) {
+          low = mid + 1;
+        } else if (midTagId > tagId) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return NO_POSITION;
+    }
+    return tagId - lowestTagId;
+  }
+}
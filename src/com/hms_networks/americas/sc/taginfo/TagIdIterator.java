@@ -0,0 +1,78 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Class to iterate over the tags matching a {@link TagQuery}, in ascending tag ID order. Tag IDs
+ * are returned as primitive integers, without creating a list or wrapper objects.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagIdIterator {
+
+  /** Bitset index the matching tag positions refer to. */
+  private final TagBitsetIndex bitsetIndex;
+
+  /** Bitset of matching tag positions. */
+  private final int[] matchBits;
+
+  /** Position of the next matching tag, or -1 if there are no more matching tags. */
+  private int nextPosition;
+
+  /**
+   * Constructor for an iterator over the matching tag positions of the specified bitset index.
+   *
+   * @param bitsetIndex bitset index the matching tag positions refer to
+   * @param matchBits bitset of matching tag positions
+   */
+  TagIdIterator(TagBitsetIndex bitsetIndex, int[] matchBits) {
+    this.bitsetIndex = bitsetIndex;
+    this.matchBits = matchBits;
+    nextPosition = TagBitsetIndex.nextSetBit(matchBits, 0);
+  }
+
+  /**
+   * Gets if there are more matching tags.
+   *
+   * @return true if there are more matching tags
+   */
+  public boolean hasNext() {
+    return nextPosition >= 0;
+  }
+
+  /**
+   * Gets the tag ID of the next matching tag.
+   *
+   * @throws NoSuchElementException if there are no more matching tags
+   * @return next matching tag ID
+   */
+  public int nextTagId() throws NoSuchElementException {
+    return bitsetIndex.getTagId(advance());
+  }
+
+  /**
+   * Gets the tag information object of the next matching tag.
+   *
+   * @throws NoSuchElementException if there are no more matching tags
+   * @return next matching tag information object
+   */
+  public TagInfo nextTagInfo() throws NoSuchElementException {
+    return bitsetIndex.getTagInfo(advance());
+  }
+
+  /**
+   * Advances the iterator to the next matching tag, and returns the position of the current one.
+   *
+   * @throws NoSuchElementException if there are no more matching tags
+   * @return position of the current matching tag
+   */
+  private int advance() throws NoSuchElementException {
+    final int position = nextPosition;
+    if (position < 0) {
+      throw new NoSuchElementException("No more tags match the tag query.");
+    }
+    nextPosition = TagBitsetIndex.nextSetBit(matchBits, position + 1);
+    return position;
+  }
+}
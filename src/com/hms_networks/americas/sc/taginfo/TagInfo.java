@@ -12,14 +12,36 @@ import java.util.List;
  */
 public class TagInfo {
 
+  /** Bit mask of the historical logging enabled flag in the tag flags. */
+  static final int HISTORICAL_LOG_ENABLED_MASK = 0x10;
+
+  /** Bit mask of the real time logging enabled flag in the tag flags. */
+  static final int REAL_TIME_LOG_ENABLED_MASK = 0x20;
+
+  /** Read-only tag group lists shared by all tags, indexed by tag group bit mask. */
+  private static final List[] TAG_GROUP_LISTS = new List[TagGroup.ALL_GROUPS_MASK + 1];
+
+  static {
+    final TagGroup[] tagGroups = {TagGroup.A, TagGroup.B, TagGroup.C, TagGroup.D};
+    for (int groupMask = 0; groupMask < TAG_GROUP_LISTS.length; groupMask++) {
+      ArrayList tagGroupList = new ArrayList(tagGroups.length);
+      for (int i = 0; i < tagGroups.length; i++) {
+        if ((groupMask & tagGroups[i].getMask()) != 0) {
+          tagGroupList.add(tagGroups[i]);
+        }
+      }
+      TAG_GROUP_LISTS[groupMask] = Collections.unmodifiableList(tagGroupList);
+    }
+  }
+
   /** Tag type */
   private final TagType type;
 
-  /** Boolean if historical logging enabled */
-  private final boolean historicalLogEnabled;
-
-  /** Boolean if real time logging enabled */
-  private final boolean realTimeLogEnabled;
+  /**
+   * Packed tag flags. Bits in {@link TagGroup#ALL_GROUPS_MASK} hold the tag group bit masks, and
+   * the remaining bits hold the historical and real time logging enabled flags.
+   */
+  private final int flags;
 
   /** Tag ID */
   private final int id;
@@ -27,11 +49,16 @@ public class TagInfo {
   /** Tag name */
   private final String name;
 
-  /** Tag description */
-  private final String description;
+  /**
+   * Tag description, either as a {@link String}, or as the description bytes of a tag created with
+   * lazy tag descriptions enabled.
+   */
+  private final Object description;
 
-  /** List of tag groups */
-  private final ArrayList tagGroups;
+  /**
+   * Historical log interval, or {@link TagConstants#UNINIT_INT_VAL} if not read from the tag list.
+   */
+  private final int historicalLogInterval;
 
   /**
    * Constructor for tag class with group booleans.
@@ -58,26 +85,26 @@ public class TagInfo {
       boolean isInGroupC,
       boolean isInGroupD,
       TagType type) {
-    this.type = type;
-    this.historicalLogEnabled = historicalLogEnabled;
-    this.realTimeLogEnabled = realTimeLogEnabled;
-    this.id = id;
-    this.name = name;
-    this.description = description;
-    this.tagGroups = new ArrayList();
-
+    int groupMask = 0;
     if (isInGroupA) {
-      this.tagGroups.add(TagGroup.A);
+      groupMask |= TagGroup.A.getMask();
     }
     if (isInGroupB) {
-      this.tagGroups.add(TagGroup.B);
+      groupMask |= TagGroup.B.getMask();
     }
     if (isInGroupC) {
-      this.tagGroups.add(TagGroup.C);
+      groupMask |= TagGroup.C.getMask();
     }
     if (isInGroupD) {
-      this.tagGroups.add(TagGroup.D);
+      groupMask |= TagGroup.D.getMask();
     }
+
+    this.type = type;
+    this.flags = packFlags(historicalLogEnabled, realTimeLogEnabled, groupMask);
+    this.id = id;
+    this.name = name;
+    this.description = description;
+    this.historicalLogInterval = TagConstants.UNINIT_INT_VAL;
   }
 
   /**
@@ -100,12 +127,61 @@ public class TagInfo {
       ArrayList tagGroups,
       TagType type) {
     this.type = type;
-    this.historicalLogEnabled = historicalLogEnabled;
-    this.realTimeLogEnabled = realTimeLogEnabled;
+    this.flags = packFlags(historicalLogEnabled, realTimeLogEnabled, TagGroup.getMask(tagGroups));
+    this.id = id;
+    this.name = name;
+    this.description = description;
+    this.historicalLogInterval = TagConstants.UNINIT_INT_VAL;
+  }
+
+  /**
+   * Constructor for tag class with packed tag flags, as returned by {@link #getFlags()}.
+   *
+   * @param id tag ID
+   * @param name tag name
+   * @param description tag description {@link String}, or tag description bytes to convert to a
+   *     {@link String} on each call to {@link #getDescription()}
+   * @param flags packed tag flags
+   * @param historicalLogInterval historical log interval, or {@link TagConstants#UNINIT_INT_VAL} if
+   *     unknown
+   * @param type tag type
+   */
+  TagInfo(
+      int id, String name, Object description, int flags, int historicalLogInterval, TagType type) {
+    this.type = type;
+    this.flags = flags;
     this.id = id;
     this.name = name;
     this.description = description;
-    this.tagGroups = tagGroups;
+    this.historicalLogInterval = historicalLogInterval;
+  }
+
+  /**
+   * Packs the specified logging flags and tag group bit mask into a single integer.
+   *
+   * @param historicalLogEnabled boolean if historical logging enabled
+   * @param realTimeLogEnabled boolean if realtime logging enabled
+   * @param groupMask combined tag group bit mask
+   * @return packed tag flags
+   */
+  static int packFlags(boolean historicalLogEnabled, boolean realTimeLogEnabled, int groupMask) {
+    int packedFlags = groupMask & TagGroup.ALL_GROUPS_MASK;
+    if (historicalLogEnabled) {
+      packedFlags |= HISTORICAL_LOG_ENABLED_MASK;
+    }
+    if (realTimeLogEnabled) {
+      packedFlags |= REAL_TIME_LOG_ENABLED_MASK;
+    }
+    return packedFlags;
+  }
+
+  /**
+   * Get the packed tag flags, containing the tag group bit masks and logging enabled flags.
+   *
+   * @return packed tag flags
+   */
+  int getFlags() {
+    return flags;
   }
 
   /**
@@ -135,13 +211,46 @@ public class TagInfo {
     return name;
   }
 
+  /**
+   * Get the tag description. If the tag was created with lazy tag descriptions enabled by {@link
+   * TagInfoManager#enableLazyTagDescriptions()}, a new {@link String} is created by each call.
+   *
+   * @return tag description
+   */
+  public String getDescription() {
+    if (description instanceof String) {
+      return (String) description;
+    }
+    return new String((byte[]) description);
+  }
+
+  /**
+   * Get the tag description if it is stored as a {@link String}, without creating a string from
+   * lazy tag description bytes.
+   *
+   * @return tag description, or null if stored as lazy tag description bytes
+   */
+  String getDescriptionIfString() {
+    return description instanceof String ? (String) description : null;
+  }
+
+  /**
+   * Get the tag description bytes, without creating a string from lazy tag description bytes. The
+   * returned array must not be modified.
+   *
+   * @return tag description bytes
+   */
+  byte[] getDescriptionBytes() {
+    return description instanceof String ? ((String) description).getBytes() : (byte[]) description;
+  }
+
   /**
    * Get if the tag historical logging is enabled
    *
    * @return true if historical logging enabled
    */
   public boolean isHistoricalLogEnabled() {
-    return historicalLogEnabled;
+    return (flags & HISTORICAL_LOG_ENABLED_MASK) != 0;
   }
 
   /**
@@ -150,15 +259,46 @@ public class TagInfo {
    * @return true if real time logging enabled
    */
   public boolean isRealTimeLogEnabled() {
-    return realTimeLogEnabled;
+    return (flags & REAL_TIME_LOG_ENABLED_MASK) != 0;
+  }
+
+  /**
+   * Get the historical log interval of the tag, as read from the tag list by {@link
+   * TagInfoManager#refreshTagList()}.
+   *
+   * @return historical log interval, or {@link TagConstants#UNINIT_INT_VAL} if unknown
+   */
+  public int getHistoricalLogInterval() {
+    return historicalLogInterval;
   }
 
   /**
-   * Get the tag's groups as a list of {@link TagGroup}s.
+   * Get the tag's groups as a read-only list of {@link TagGroup}s. The returned list is shared by
+   * all tags in the same groups.
    *
    * @return tag groups list
    */
   public List getTagGroups() {
-    return Collections.unmodifiableList(tagGroups);
+    return TAG_GROUP_LISTS[getGroupMask()];
+  }
+
+  /**
+   * Get if the tag is in the specified tag group.
+   *
+   * @param tagGroup tag group
+   * @return true if tag is in the tag group
+   */
+  public boolean isInGroup(TagGroup tagGroup) {
+    return (flags & tagGroup.getMask()) != 0;
+  }
+
+  /**
+   * Get the combined bit mask of the tag's groups. The mask contains the {@link TagGroup#getMask()}
+   * of each group the tag is in.
+   *
+   * @return tag group bit mask
+   */
+  public int getGroupMask() {
+    return flags & TagGroup.ALL_GROUPS_MASK;
   }
 }
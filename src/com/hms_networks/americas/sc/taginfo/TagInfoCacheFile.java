@@ -0,0 +1,351 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import com.hms_networks.americas.sc.logging.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Hashtable;
+
+/**
+ * Class that saves and loads the tag information of a {@link TagInfoSnapshot} to and from a compact
+ * binary cache file, so that tag information is available at application startup without waiting
+ * for a full tag list export.
+ *
+ * <p>The cache file starts with a header holding the settings the tag information was built with,
+ * the number of Ewon tags, the tag count, the lowest and highest tag ID, and a checksum of the int
+ * to string enumeration file. A cache file is only loaded when the settings, the number of Ewon
+ * tags and the enumeration file checksum still match, and its tag records match the tag count and
+ * tag ID range of its header.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagInfoCacheFile {
+
+  /** Value identifying a tag information cache file. */
+  private static final int FILE_MAGIC = 0x54494346;
+
+  /** Version of the cache file format. Cache files with a different version are not loaded. */
+  private static final int FILE_VERSION = 2;
+
+  /**
+   * Setting flag for tag information built with int to string enumerations enabled, which change
+   * the tag type of enumerated tags.
+   */
+  private static final int SETTING_INT_TO_STRING_ENUMS = 0x1;
+
+  /** Type code stored for tags with an unknown {@link TagType}. */
+  private static final byte UNKNOWN_TYPE_CODE = -1;
+
+  /** Size in bytes of the buffer used to read and write cache files. */
+  private static final int FILE_BUFFER_SIZE = 4096;
+
+  /** Offset basis of the 64-bit FNV-1a hash used for file checksums. */
+  private static final long CHECKSUM_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  /** Prime of the 64-bit FNV-1a hash used for file checksums. */
+  private static final long CHECKSUM_PRIME = 0x100000001b3L;
+
+  /** File path of the cache file. */
+  private final String fileName;
+
+  /**
+   * Constructor for a tag information cache file at the specified file path.
+   *
+   * @param fileName file path of the cache file
+   */
+  TagInfoCacheFile(String fileName) {
+    this.fileName = fileName;
+  }
+
+  /**
+   * Saves the tag information of the specified snapshot to the cache file. The cache file is
+   * written to a temporary file first, and replaces the previous cache file by rename once
+   * complete, so a partially written cache file is never loaded.
+   *
+   * @param snapshot tag information snapshot to save
+   * @param nbTags number of Ewon tags when the snapshot was built
+   * @param enumFileChecksum checksum of the int to string enumeration file
+   * @param intToStringEnumsEnabled boolean if int to string enumerations were enabled when the
+   *     snapshot was built
+   * @throws IOException if unable to write the cache file
+   */
+  void save(
+      TagInfoSnapshot snapshot, int nbTags, long enumFileChecksum, boolean intToStringEnumsEnabled)
+      throws IOException {
+    File tempFile = new File(fileName + ".tmp");
+    DataOutputStream out =
+        new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(tempFile), FILE_BUFFER_SIZE));
+    try {
+      try {
+        // Write header
+        out.writeInt(FILE_MAGIC);
+        out.writeInt(FILE_VERSION);
+        out.writeInt(intToStringEnumsEnabled ? SETTING_INT_TO_STRING_ENUMS : 0);
+        out.writeInt(nbTags);
+        out.writeInt(snapshot.tagCount);
+        out.writeInt(snapshot.lowestTagId);
+        out.writeInt(snapshot.highestTagId);
+        out.writeLong(enumFileChecksum);
+
+        // Write tag records, from the store if only the store is built
+        for (int i = 0; i < snapshot.tagCount; i++) {
+          if (snapshot.tags != null) {
+            final TagInfo tagInfo = snapshot.tags[i];
+            writeRecord(
+                out,
+                tagInfo.getId(),
+                tagInfo.getName(),
+                tagInfo.getDescription(),
+                tagInfo.getFlags(),
+                tagInfo.getHistoricalLogInterval(),
+                tagInfo.getType());
+          } else {
+            final TagInfoStore store = snapshot.store;
+            writeRecord(
+                out,
+                store.getId(i),
+                store.getName(i),
+                store.getDescription(i),
+                store.getFlags(i),
+                store.getHistoricalLogInterval(i),
+                store.getType(i));
+          }
+        }
+      } finally {
+        out.close();
+      }
+    } catch (IOException e) {
+      // Discard partially written temporary file
+      tempFile.delete();
+      throw e;
+    }
+
+    // Replace previous cache file
+    File file = new File(fileName);
+    if (file.exists() && !file.delete()) {
+      throw new IOException("Unable to replace tag information cache file " + fileName + ".");
+    }
+    if (!tempFile.renameTo(file)) {
+      throw new IOException("Unable to rename tag information cache file to " + fileName + ".");
+    }
+  }
+
+  /**
+   * Writes a tag record to the specified cache file stream.
+   *
+   * @param out stream of the cache file
+   * @param id tag ID
+   * @param name tag name
+   * @param description tag description
+   * @param flags packed tag flags
+   * @param historicalLogInterval historical log interval
+   * @param type tag type, or null if unknown
+   * @throws IOException if unable to write the tag record
+   */
+  private static void writeRecord(
+      DataOutputStream out,
+      int id,
+      String name,
+      String description,
+      int flags,
+      int historicalLogInterval,
+      TagType type)
+      throws IOException {
+    out.writeInt(id);
+    out.writeUTF(name);
+    out.writeUTF(description);
+    out.writeInt(flags);
+    out.writeInt(historicalLogInterval);
+    out.writeByte(type != null ? type.getTypeInt() : UNKNOWN_TYPE_CODE);
+  }
+
+  /**
+   * Loads the tag information from the cache file, if it exists and matches the specified number of
+   * Ewon tags, int to string enumeration file checksum and int to string enumeration setting.
+   * Loaded tag information objects are sorted by tag ID, and are created with the specified int to
+   * string enumeration mappings, string pool and lazy tag description setting.
+   *
+   * <p>A cache file that is truncated or corrupt is deleted and treated as a cache miss.
+   *
+   * @param nbTags current number of Ewon tags
+   * @param enumFileChecksum current checksum of the int to string enumeration file
+   * @param enumTagMappings table of tag names to int to string enumeration mappings, or null if int
+   *     to string enumerations are not enabled
+   * @param stringPool pool to canonicalize tag names and descriptions with, or null if string
+   *     deduplication is not enabled
+   * @param lazyDescriptions boolean if tag descriptions are kept as bytes
+   * @return loaded tag information objects, or null if the cache file does not exist, does not
+   *     match or is corrupt
+   * @throws IOException if unable to open the cache file
+   */
+  TagInfo[] load(
+      int nbTags,
+      long enumFileChecksum,
+      Hashtable enumTagMappings,
+      TagStringPool stringPool,
+      boolean lazyDescriptions)
+      throws IOException {
+    File file = new File(fileName);
+    if (!file.exists()) {
+      return null;
+    }
+
+    DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file), FILE_BUFFER_SIZE));
+    try {
+      try {
+        return read(in, nbTags, enumFileChecksum, enumTagMappings, stringPool, lazyDescriptions);
+      } finally {
+        in.close();
+      }
+    } catch (IOException e) {
+      // Covers truncated (EOFException) and malformed (UTFDataFormatException) cache files
+      Logger.LOG_WARN("Deleting corrupt tag information cache file " + fileName + ": " + e);
+      if (!file.delete()) {
+        Logger.LOG_WARN("Unable to delete corrupt tag information cache file " + fileName + ".");
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Reads the header and tag records of a cache file from the specified stream.
+   *
+   * @param in stream of the cache file
+   * @param nbTags current number of Ewon tags
+   * @param enumFileChecksum current checksum of the int to string enumeration file
+   * @param enumTagMappings table of tag names to int to string enumeration mappings, or null if int
+   *     to string enumerations are not enabled
+   * @param stringPool pool to canonicalize tag names and descriptions with, or null if string
+   *     deduplication is not enabled
+   * @param lazyDescriptions boolean if tag descriptions are kept as bytes
+   * @return read tag information objects, or null if the cache file does not match
+   * @throws IOException if the cache file is truncated or its tag records are invalid
+   */
+  private static TagInfo[] read(
+      DataInputStream in,
+      int nbTags,
+      long enumFileChecksum,
+      Hashtable enumTagMappings,
+      TagStringPool stringPool,
+      boolean lazyDescriptions)
+      throws IOException {
+    // Read and validate header
+    if (in.readInt() != FILE_MAGIC) {
+      throw new IOException("Invalid tag information cache file header.");
+    }
+    if (in.readInt() != FILE_VERSION) {
+      return null;
+    }
+    final int cachedSettings = in.readInt();
+    final int cachedNbTags = in.readInt();
+    final int tagCount = in.readInt();
+    final int lowestTagId = in.readInt();
+    final int highestTagId = in.readInt();
+    final long cachedEnumFileChecksum = in.readLong();
+    final int settings = enumTagMappings != null ? SETTING_INT_TO_STRING_ENUMS : 0;
+    if (cachedSettings != settings
+        || cachedNbTags != nbTags
+        || cachedEnumFileChecksum != enumFileChecksum) {
+      return null;
+    }
+    if (tagCount < 0 || tagCount > nbTags) {
+      throw new IOException("Invalid tag information cache file tag count " + tagCount + ".");
+    }
+
+    // Read tag records
+    TagInfo[] tags = new TagInfo[tagCount];
+    int previousTagId = Integer.MIN_VALUE;
+    for (int i = 0; i < tagCount; i++) {
+      final int id = in.readInt();
+      String name = in.readUTF();
+      final String descriptionString = in.readUTF();
+      final int flags = in.readInt();
+      final int historicalLogInterval = in.readInt();
+      final byte typeCode = in.readByte();
+
+      // Verify tag records are sorted and within the tag ID range of the header
+      if (id <= previousTagId || id < lowestTagId || id > highestTagId) {
+        throw new IOException("Invalid tag information cache file tag ID " + id + ".");
+      }
+      previousTagId = id;
+
+      // Create name and description like tags created by a tag list refresh
+      if (stringPool != null) {
+        name = stringPool.get(name);
+      }
+      Object description;
+      if (descriptionString.length() == 0) {
+        description = "";
+      } else if (lazyDescriptions) {
+        description = descriptionString.getBytes();
+      } else if (stringPool != null) {
+        description = stringPool.get(descriptionString);
+      } else {
+        description = descriptionString;
+      }
+
+      final TagType type =
+          typeCode == UNKNOWN_TYPE_CODE ? null : TagType.getTagTypeFromInt(typeCode);
+      final TagEnumMapping mapping =
+          enumTagMappings != null ? (TagEnumMapping) enumTagMappings.get(name) : null;
+      if (mapping != null) {
+        tags[i] =
+            new TagInfoEnumeratedIntToString(
+                id,
+                name,
+                description,
+                flags,
+                historicalLogInterval,
+                TagType.INTEGER_MAPPED_STRING,
+                mapping);
+      } else {
+        tags[i] = new TagInfo(id, name, description, flags, historicalLogInterval, type);
+      }
+    }
+
+    // Verify tag ID range of the header
+    if (tagCount > 0 && (tags[0].getId() != lowestTagId || previousTagId != highestTagId)) {
+      throw new IOException("Invalid tag information cache file tag ID range.");
+    }
+    return tags;
+  }
+
+  /**
+   * Computes a 64-bit checksum of the contents of the specified file.
+   *
+   * @param checksumFileName file path of the file
+   * @return checksum of the file contents, or 0 if the file does not exist
+   * @throws IOException if unable to read the file
+   */
+  static long checksumFile(String checksumFileName) throws IOException {
+    File file = new File(checksumFileName);
+    if (!file.exists()) {
+      return 0;
+    }
+
+    // 64-bit FNV-1a hash of the file contents
+    long hash = CHECKSUM_OFFSET_BASIS;
+    byte[] buffer = new byte[FILE_BUFFER_SIZE];
+    InputStream in = new FileInputStream(file);
+    try {
+      int bytesRead;
+      while ((bytesRead = in.read(buffer)) > 0) {
+        for (int i = 0; i < bytesRead; i++) {
+          hash = (hash ^ (buffer[i] & 0xFF)) * CHECKSUM_PRIME;
+        }
+      }
+    } finally {
+      in.close();
+    }
+    return hash;
+  }
+}
@@ -11,8 +11,8 @@ import java.util.ArrayList;
  */
 public class TagInfoEnumeratedIntToString extends TagInfo {
 
-  /** Array of {@link String} values which are mapped to tag values by the array index. */
-  private final String[] enumeratedStringValueMapping;
+  /** Mapping of tag values to {@link String} values, or null if created without a mapping. */
+  private final TagEnumMapping enumMapping;
 
   /**
    * Constructor for tag class with group {@code boolean}s and enumerated {@code int} to {@link
@@ -53,7 +53,10 @@ public class TagInfoEnumeratedIntToString extends TagInfo {
         isInGroupC,
         isInGroupD,
         type);
-    this.enumeratedStringValueMapping = enumeratedStringValueMapping;
+    this.enumMapping =
+        enumeratedStringValueMapping != null
+            ? TagEnumMapping.fromArray(enumeratedStringValueMapping)
+            : null;
   }
 
   /**
@@ -79,15 +82,72 @@ public class TagInfoEnumeratedIntToString extends TagInfo {
       TagType type,
       String[] enumeratedStringValueMapping) {
     super(id, name, description, historicalLogEnabled, realTimeLogEnabled, tagGroups, type);
-    this.enumeratedStringValueMapping = enumeratedStringValueMapping;
+    this.enumMapping =
+        enumeratedStringValueMapping != null
+            ? TagEnumMapping.fromArray(enumeratedStringValueMapping)
+            : null;
   }
 
   /**
-   * Get the enumerated int to {@link String} value mapping for this tag.
+   * Constructor for tag class with packed tag flags and enumerated {@code int} to {@link String}
+   * value mappings.
    *
-   * @return the enumerated int to {@link String} value mapping for this tag.
+   * @param id tag ID
+   * @param name tag name
+   * @param description tag description {@link String}, or tag description bytes to convert to a
+   *     {@link String} on each call to {@link #getDescription()}
+   * @param flags packed tag flags
+   * @param historicalLogInterval historical log interval, or {@link TagConstants#UNINIT_INT_VAL} if
+   *     unknown
+   * @param type tag type
+   * @param enumMapping mapping of tag values to {@link String} values
+   */
+  TagInfoEnumeratedIntToString(
+      int id,
+      String name,
+      Object description,
+      int flags,
+      int historicalLogInterval,
+      TagType type,
+      TagEnumMapping enumMapping) {
+    super(id, name, description, flags, historicalLogInterval, type);
+    this.enumMapping = enumMapping;
+  }
+
+  /**
+   * Get the enumerated int to {@link String} value mapping for this tag, as an array where the
+   * {@code int} value of the tag represents the {@link String} array index.
+   *
+   * <p>For mappings with widely spaced values, the array has an element for every value up to the
+   * highest mapped value, and is created by the first call. Use {@link #resolve(int, String)} to
+   * map tag values without creating the array.
+   *
+   * @return the enumerated int to {@link String} value mapping for this tag, or null if the tag was
+   *     created without a mapping
    */
   public String[] getEnumeratedStringValueMapping() {
-    return enumeratedStringValueMapping;
+    return enumMapping != null ? enumMapping.toArray() : null;
+  }
+
+  /**
+   * Get the enumerated int to {@link String} value mapping for this tag.
+   *
+   * @return the enumerated int to {@link String} value mapping for this tag, or null if the tag was
+   *     created without a mapping
+   */
+  public TagEnumMapping getEnumMapping() {
+    return enumMapping;
+  }
+
+  /**
+   * Gets the {@link String} value mapped to the specified tag value, or the specified fallback if
+   * the tag value is not mapped or the tag has no mapping. This method does not allocate.
+   *
+   * @param value tag value
+   * @param fallback string to return if the tag value is not mapped
+   * @return mapped string, or the fallback
+   */
+  public String resolve(int value, String fallback) {
+    return enumMapping != null ? enumMapping.resolve(value, fallback) : fallback;
   }
 }
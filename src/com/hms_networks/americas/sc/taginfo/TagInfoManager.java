@@ -4,17 +4,17 @@ import com.ewon.ewonitf.EWException;
 import com.ewon.ewonitf.Exporter;
 import com.ewon.ewonitf.IOManager;
 import com.ewon.ewonitf.SysControlBlock;
-import com.hms_networks.americas.sc.fileutils.FileAccessManager;
-import com.hms_networks.americas.sc.json.JSONArray;
 import com.hms_networks.americas.sc.json.JSONException;
-import com.hms_networks.americas.sc.json.JSONObject;
 import com.hms_networks.americas.sc.logging.Logger;
-import com.hms_networks.americas.sc.string.QuoteSafeStringTokenizer;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Class that allows the retrieval of tag information of an Ewon Flexy by generating an export block
@@ -26,136 +26,329 @@ import java.util.List;
 public class TagInfoManager {
 
   /**
-   * Tag information list. Contents are generated/populated by a call to {@link #refreshTagList()}.
+   * Tag information snapshot published by the previous call to {@link #refreshTagList()}. Each
+   * refresh builds a new immutable snapshot, and publishes it by replacing this reference once the
+   * snapshot is complete.
    */
-  private static TagInfo[] tagInfoList = null;
+  private static volatile TagInfoSnapshot tagInfoSnapshot = null;
+
+  /** Lock held while refreshing the tag information list. Readers do not use this lock. */
+  private static final Object refreshLock = new Object();
+
+  /**
+   * Tag information list being built by the current call to {@link #refreshTagList()}. The list is
+   * not visible to readers until it is published in a {@link TagInfoSnapshot}.
+   */
+  private static TagInfo[] refreshTagInfoList = null;
+
+  /**
+   * Tag information store being built by the current call to {@link #refreshTagList()}, or null if
+   * the store is not enabled.
+   */
+  private static TagInfoStore refreshTagInfoStore = null;
+
+  /**
+   * The current index for inserting tag information objects into the tag information list being
+   * built. This index also doubles also a tracker for the tag information list actual size.
+   */
+  private static int refreshTagInfoListInsertIndex = 0;
+
+  /**
+   * Boolean if the tags read during the current call to {@link #refreshTagList()} have so far been
+   * in order of tag ID.
+   */
+  private static boolean refreshTagIdsSorted = true;
+
+  /** Flag to enable lazy tag descriptions. Defaults to not enabled. */
+  private static boolean enableLazyTagDescriptions = false;
+
+  /** Flag to enable building of the columnar tag information store. Defaults to not enabled. */
+  private static boolean enableTagInfoStore = false;
+
+  /**
+   * Flag to build only the columnar tag information store, without the tag information list.
+   * Defaults to not enabled.
+   */
+  private static boolean enableTagInfoStoreOnly = false;
+
+  /** Flag to enable incremental tag list refreshes. Defaults to not enabled. */
+  private static boolean enableIncrementalRefresh = false;
+
+  /**
+   * Tag fingerprints from the previous call to {@link #refreshTagList()}, or null if incremental
+   * refresh was not enabled.
+   */
+  private static TagFingerprintTable previousTagFingerprints = null;
+
+  /**
+   * Tag fingerprints being recorded by the current call to {@link #refreshTagList()}, or null if
+   * incremental refresh is not enabled.
+   */
+  private static TagFingerprintTable currentTagFingerprints = null;
+
+  /**
+   * Cleared fingerprint table kept for reuse by the next call to {@link #refreshTagList()}, or null
+   * if there is none.
+   */
+  private static TagFingerprintTable spareTagFingerprints = null;
+
+  /** Number of tag info objects reused by the current call to {@link #refreshTagList()}. */
+  private static int reusedTagInfoCount = 0;
 
   /**
-   * The current index for inserting tag information objects into the tag information list. This
-   * index also doubles also a tracker for the tag information list actual size.
+   * Pool of tag name and description strings kept across refreshes, or null if string deduplication
+   * is not enabled.
    */
-  private static int tagInfoListInsertIndex = 0;
+  private static TagStringPool tagStringPool = null;
+
+  /** Cache of tag logging configurations, used to skip saving configurations already applied. */
+  private static final TagLogConfigurationCache tagLogConfigurationCache =
+      new TagLogConfigurationCache();
+
+  /** Default free heap threshold in bytes for {@link TagInfoMemoryPolicy#LOW_FREE_HEAP}. */
+  private static final long DEFAULT_POST_REFRESH_FREE_HEAP_THRESHOLD_BYTES = 1024 * 1024;
 
-  /** The lowest tag ID seen during the previous call to {@link #refreshTagList()}. */
-  private static int lowestTagIdSeen = TagConstants.UNINIT_INT_VAL;
+  /** Memory policy applied after each call to {@link #refreshTagList()}. */
+  private static TagInfoMemoryPolicy postRefreshMemoryPolicy = TagInfoMemoryPolicy.LOW_FREE_HEAP;
 
-  /** The highest tag ID seen during the previous call to {@link #refreshTagList()}. */
-  private static int highestTagIdSeen = TagConstants.UNINIT_INT_VAL;
+  /** Free heap threshold in bytes for {@link TagInfoMemoryPolicy#LOW_FREE_HEAP}. */
+  private static long postRefreshFreeHeapThresholdBytes =
+      DEFAULT_POST_REFRESH_FREE_HEAP_THRESHOLD_BYTES;
 
-  /** Initial capacity for byte stream buffer. */
-  private static final int INITIAL_CAPACITY_BYTES = 1000;
+  /** Statistics of the previous call to {@link #refreshTagList()}. */
+  private static volatile TagInfoRefreshStatistics lastRefreshStatistics = null;
 
-  /** Maximum capacity for byte stream buffer. */
+  /** Maximum capacity for tag list line buffer. */
   private static final int MAX_CAPACITY_BYTES = 5000;
 
+  /** Reusable block reader for the tag list export block descriptor lines. */
+  private static final TagEBDLineReader tagListLineReader =
+      new TagEBDLineReader(MAX_CAPACITY_BYTES, "var_lst");
+
+  /** Reusable byte-level parser for the tag list export block descriptor lines. */
+  private static final TagListLineParser tagListLineParser = new TagListLineParser();
+
   /** Flag to enable int to string tag enums. Defaults to not enabled. */
   private static boolean enableIntToStringEnums = false;
 
-  /** ArrayList to hold the names of tags that will have int to string enumerations */
-  private static ArrayList intToStringEnumerationTagList;
+  /**
+   * Table of tag names that will have int to string enumerations to their string mappings. Used for
+   * constant-time enumerated tag lookup while creating tag information objects.
+   */
+  private static Hashtable intToStringEnumerationTagMappings;
 
   /** File path to the int to string enumeration file. */
   private static final String INT_TO_STRING_ENUMERATION_FILE_NAME = "/usr/EnumerationMapping.json";
 
+  /** File path to the tag information cache file. */
+  private static final String TAG_INFO_CACHE_FILE_NAME = "/usr/TagInfoCache.bin";
+
+  /** Tag information cache file, used for fast application startup. */
+  private static final TagInfoCacheFile tagInfoCacheFile =
+      new TagInfoCacheFile(TAG_INFO_CACHE_FILE_NAME);
+
+  /** Cache of the parsed int to string enumeration file. */
+  private static final TagEnumMappingCache intToStringEnumerationCache =
+      new TagEnumMappingCache(INT_TO_STRING_ENUMERATION_FILE_NAME);
+
   /**
    * Populate the tag information list by using an Ewon Export Block Descriptor and parsing the
    * response.
    *
+   * <p>The tag information list is built into a new snapshot, which replaces the previous tag
+   * information list only once it is complete. Until then, readers continue to use the previous tag
+   * information list without waiting for the refresh.
+   *
    * @throws IOException if EDB fails
    * @throws TagInfoBufferException if line from var_lst exceeds max capacity
    * @throws JSONException if int to string enumeration JSON parse fails
    */
-  public static synchronized void refreshTagList() throws IOException, JSONException {
-    // Create tagInfoList of size = number of Flexy tags
-    tagInfoList = new TagInfo[IOManager.getNbTags()];
-    tagInfoListInsertIndex = 0;
-
-    getIntStringEnumTags();
-
-    /*
-     * Create exporter
-     *
-     * dtTL = data type: tag list
-     * ftT = file type: text
-     */
-    Exporter exporter = new Exporter("$dtTL$ftT");
-
-    // Create flag to track reading header
-    boolean isHeaderReceived = false;
+  public static void refreshTagList() throws IOException, JSONException {
+    refreshTagList(null, IOManager.getNbTags());
+  }
 
-    // Create a byte output stream with an initial capacity
-    ByteArrayOutputStream receivedBytes = new ByteArrayOutputStream(INITIAL_CAPACITY_BYTES);
+  /**
+   * Populate the tag information list by parsing the specified tag list export, or a new tag list
+   * export if null. Refreshing from a specified tag list export is used by harnesses to refresh
+   * from a canned tag list export without an Ewon.
+   *
+   * @param tagListStream tag list export block descriptor stream, or null to use a new export
+   * @param nbTags maximum number of tags in the tag list
+   * @throws IOException if EDB fails
+   * @throws TagInfoBufferException if line from var_lst exceeds max capacity
+   * @throws JSONException if int to string enumeration JSON parse fails
+   */
+  static void refreshTagList(InputStream tagListStream, int nbTags)
+      throws IOException, JSONException {
+    synchronized (refreshLock) {
+      final long refreshStartMillis = System.currentTimeMillis();
+      final long heapUsedBeforeBytes = getHeapUsedBytes();
+
+      // Build and publish new snapshot
+      final TagInfoSnapshot snapshot = buildTagInfoSnapshot(tagListStream, nbTags);
+      tagInfoSnapshot = snapshot;
+      tagLogConfigurationCache.snapshotPublished(snapshot.refreshSequence);
+
+      // Apply post-refresh memory policy
+      final boolean garbageCollectionRequested = applyPostRefreshMemoryPolicy();
+
+      // Record refresh statistics
+      lastRefreshStatistics =
+          new TagInfoRefreshStatistics(
+              snapshot.tagCount,
+              reusedTagInfoCount,
+              tagStringPool != null ? tagStringPool.getDeduplicatedCount() : 0,
+              tagStringPool != null ? tagStringPool.getDeduplicatedBytesSaved() : 0,
+              System.currentTimeMillis() - refreshStartMillis,
+              heapUsedBeforeBytes,
+              getHeapUsedBytes(),
+              garbageCollectionRequested);
+      Logger.LOG_DEBUG("Tag information list refreshed. " + lastRefreshStatistics);
+    }
+  }
 
-    // Current line number of tag list
-    int currLineNumber = 0;
+  /**
+   * Builds a new tag information snapshot by using an Ewon Export Block Descriptor and parsing the
+   * response. Must only be called while holding {@link #refreshLock}.
+   *
+   * @param tagListStream tag list export block descriptor stream, or null to use a new export
+   * @param nbTags maximum number of tags in the tag list
+   * @return new tag information snapshot
+   * @throws IOException if EDB fails
+   * @throws TagInfoBufferException if line from var_lst exceeds max capacity
+   * @throws JSONException if int to string enumeration JSON parse fails
+   */
+  private static TagInfoSnapshot buildTagInfoSnapshot(InputStream tagListStream, int nbTags)
+      throws IOException, JSONException {
+    // Create tagInfoList and tag information store of size = number of Flexy tags
+    refreshTagInfoList = enableTagInfoStoreOnly ? null : new TagInfo[nbTags];
+    refreshTagInfoStore = enableTagInfoStore ? new TagInfoStore(nbTags) : null;
+    refreshTagInfoListInsertIndex = 0;
+    refreshTagIdsSorted = true;
+
+    // Prepare fingerprint table for incremental refresh, reusing the spare table if large enough
+    currentTagFingerprints = null;
+    if (enableIncrementalRefresh && refreshTagInfoList != null) {
+      currentTagFingerprints = spareTagFingerprints;
+      spareTagFingerprints = null;
+      if (currentTagFingerprints == null || currentTagFingerprints.getMaxSize() < nbTags) {
+        currentTagFingerprints = new TagFingerprintTable(nbTags);
+      }
+    }
+    reusedTagInfoCount = 0;
 
-    // Loop through bytes in exporter result
-    while (exporter.available() != 0) {
+    // Start string pool refresh if string deduplication enabled
+    if (tagStringPool != null) {
+      tagStringPool.startRefresh();
+    }
 
-      // Read next byte from exporter
-      byte currentByteRead = (byte) exporter.read();
+    int refreshSequence;
+    boolean tagListRead = false;
+    try {
+      getIntStringEnumTags();
 
-      // If received new line, process line (disregard if header)
-      if (currentByteRead == TagConstants.TAG_EBD_NEW_LINE) {
+      // Start refresh before export, so that tag configurations saved afterwards are still tracked
+      refreshSequence = tagLogConfigurationCache.startRefresh();
 
-        // Process line if not header, otherwise change header read flag
-        if (isHeaderReceived) {
-          processTagListEBDLine(receivedBytes.toString());
-        } else {
-          isHeaderReceived = true;
+      /*
+       * Create exporter, unless reading a specified tag list export
+       *
+       * dtTL = data type: tag list
+       * ftT = file type: text
+       */
+      InputStream exporter = tagListStream != null ? tagListStream : new Exporter("$dtTL$ftT");
+
+      // Read lines from exporter in blocks, skipping the header line
+      tagListLineReader.reset(exporter);
+      try {
+        if (tagListLineReader.nextLine()) {
+          while (tagListLineReader.nextLine()) {
+            processTagListEBDLine(tagListLineReader.getLine(), tagListLineReader.getLineLength());
+          }
         }
+      } finally {
+        tagListLineReader.reset(null);
+        exporter.close();
+      }
+      tagListRead = true;
+    } finally {
+      if (!tagListRead) {
+        discardFailedRefresh();
+      }
+    }
 
-        // Reached end of line. Reset byte received buffer
-        receivedBytes.reset();
+    // Keep fingerprints for next incremental refresh, and clear older table for reuse
+    if (previousTagFingerprints != null) {
+      previousTagFingerprints.clear();
+      spareTagFingerprints = previousTagFingerprints;
+    }
+    previousTagFingerprints = currentTagFingerprints;
+    currentTagFingerprints = null;
 
-        // Increment line number
-        currLineNumber++;
-      }
+    // Remove strings no longer used from string pool
+    if (tagStringPool != null) {
+      tagStringPool.finishRefresh();
+    }
 
-      /*
-       * Add received byte to array (if not new line,
-       * carriage return or end of stream)
-       */
-      if (currentByteRead != TagConstants.TAG_EBD_END_OF_STREAM
-          && currentByteRead != TagConstants.TAG_EBD_CARRIAGE_RETURN
-          && currentByteRead != TagConstants.TAG_EBD_NEW_LINE) {
-        receivedBytes.write(currentByteRead);
-        // Maintain a maximum limit for buffer growth
-        if (receivedBytes.size() > MAX_CAPACITY_BYTES) {
-
-          // Find the tag name of the error line
-          final String delimiter = ";";
-          final int indexName = 1;
-          final boolean returnDelimiters = false;
-          String errorLineTagName = "NotFound";
-          QuoteSafeStringTokenizer quoteSafeStringTokenizer =
-              new QuoteSafeStringTokenizer(receivedBytes.toString(), delimiter, returnDelimiters);
-
-          String currentToken = "";
-          while (quoteSafeStringTokenizer.hasMoreElements()
-              && quoteSafeStringTokenizer.getPrevTokenIndex() < indexName) {
-            currentToken = quoteSafeStringTokenizer.nextToken();
-          }
+    final TagInfo[] tagInfoList = refreshTagInfoList;
+    final TagInfoStore store = refreshTagInfoStore;
+    refreshTagInfoList = null;
+    refreshTagInfoStore = null;
+    if (store != null) {
+      store.finish();
+    }
+    if (tagInfoList == null) {
+      return createTagInfoStoreSnapshot(store, refreshSequence);
+    }
+    return createTagInfoSnapshot(
+        tagInfoList, refreshTagInfoListInsertIndex, refreshTagIdsSorted, store, refreshSequence);
+  }
 
-          if (quoteSafeStringTokenizer.getPrevTokenIndex() == indexName) {
-            errorLineTagName = currentToken;
-          }
+  /**
+   * Discards the partially built state of a call to {@link #refreshTagList()} that failed, so that
+   * the next refresh starts from the state of the previous successful refresh. Fingerprints of the
+   * previous refresh are kept for reuse. Saved tag logging configurations need no reset, as they
+   * are only discarded once a snapshot from a later refresh is published.
+   */
+  private static void discardFailedRefresh() {
+    refreshTagInfoList = null;
+    refreshTagInfoStore = null;
+    refreshTagInfoListInsertIndex = 0;
+    if (currentTagFingerprints != null) {
+      currentTagFingerprints.clear();
+      spareTagFingerprints = currentTagFingerprints;
+      currentTagFingerprints = null;
+    }
+    if (tagStringPool != null) {
+      tagStringPool.cancelRefresh();
+    }
+  }
 
-          // Log the error line number and tag name
-          Logger.LOG_CRITICAL(
-              "Line "
-                  + currLineNumber
-                  + " for tag name "
-                  + errorLineTagName
-                  + " from var_lst exceeds max capacity, throwing IOException.");
-          throw new TagInfoBufferException("Line input exceeds max buffer capacity.");
-        }
-      }
+  /**
+   * Creates a new tag information snapshot from the first <code>tagCount</code> tag information
+   * objects of the specified array, and builds its indexes.
+   *
+   * @param tagInfoList tag information objects
+   * @param tagCount number of array elements to include
+   * @param sorted boolean if the tag information objects are already sorted by tag ID
+   * @param store completed columnar tag information store, or null if not enabled
+   * @param refreshSequence sequence number of the tag list refresh building the snapshot
+   * @return new tag information snapshot
+   */
+  private static TagInfoSnapshot createTagInfoSnapshot(
+      TagInfo[] tagInfoList,
+      int tagCount,
+      boolean sorted,
+      TagInfoStore store,
+      int refreshSequence) {
+    // Sort tags by ID if the tag list was not in order
+    if (!sorted) {
+      TagIdIndex.sortByTagId(tagInfoList, tagCount);
     }
 
-    // Correct tag info array for gaps
-    final int tagIdDiff = highestTagIdSeen - lowestTagIdSeen + 1;
-    final int numTagIdGaps = tagIdDiff - IOManager.getNbTags();
+    // Build tag ID index, with a layout chosen from the tag ID gaps
+    final TagIdIndex idIndex = new TagIdIndex(tagInfoList, tagCount);
+    final int numTagIdGaps = idIndex.getTagIdRange() - tagCount;
     if (numTagIdGaps > 0) {
       // Show warning if tag gaps above threshold
       if (numTagIdGaps >= TagConstants.TAG_ID_GAPS_WARNING_THRESHOLD) {
@@ -168,160 +361,447 @@ public class TagInfoManager {
                 + " gaps. To resolve tag ID number gaps, a reset of the Ewon must be performed.");
       }
 
-      // Rebuild list with gaps
       Logger.LOG_DEBUG(
-          "Tag ID gaps have been detected. Rebuilding tag information list with correct gaps...");
-      rebuildInitialTagInfoListWithGaps();
-      Logger.LOG_DEBUG("Finished rebuilding tag information list with correct gaps.");
+          "Tag ID gaps have been detected. Using "
+              + idIndex.getLayoutName()
+              + " tag ID index for tag information list.");
+    }
+
+    // Build tag name index
+    final TagNameIndex nameIndex = new TagNameIndex(tagInfoList, tagCount);
+
+    // Build tag bitset index for queries and tag group index
+    final TagBitsetIndex bitsetIndex = new TagBitsetIndex(tagInfoList, tagCount);
+    final TagGroupIndex groupIndex = new TagGroupIndex(bitsetIndex);
+
+    // Build tag type index
+    final TagTypeIndex typeIndex = new TagTypeIndex(tagInfoList, tagCount);
+
+    return new TagInfoSnapshot(
+        tagInfoList,
+        tagCount,
+        tagCount > 0 ? tagInfoList[0].getId() : TagConstants.UNINIT_INT_VAL,
+        tagCount > 0 ? tagInfoList[tagCount - 1].getId() : TagConstants.UNINIT_INT_VAL,
+        idIndex,
+        nameIndex,
+        groupIndex,
+        bitsetIndex,
+        typeIndex,
+        store,
+        refreshSequence);
+  }
+
+  /**
+   * Creates a new tag information snapshot holding only the specified tag information store,
+   * without tag information objects or indexes.
+   *
+   * @param store completed columnar tag information store
+   * @param refreshSequence sequence number of the tag list refresh building the snapshot
+   * @return new tag information snapshot
+   */
+  private static TagInfoSnapshot createTagInfoStoreSnapshot(
+      TagInfoStore store, int refreshSequence) {
+    final int tagCount = store.size();
+    return new TagInfoSnapshot(
+        null,
+        tagCount,
+        tagCount > 0 ? store.getId(0) : TagConstants.UNINIT_INT_VAL,
+        tagCount > 0 ? store.getId(tagCount - 1) : TagConstants.UNINIT_INT_VAL,
+        null,
+        null,
+        null,
+        null,
+        null,
+        store,
+        refreshSequence);
+  }
+
+  /**
+   * Saves the tag information list populated by the previous call to {@link #refreshTagList()} to
+   * the tag information cache file in the Flexy usr directory, so that it can be loaded by {@link
+   * #loadTagListCache()} at the next application startup.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @throws IOException if unable to write the tag information cache file
+   */
+  public static void saveTagListCache() throws IllegalStateException, IOException {
+    final TagInfoSnapshot snapshot = getTagInfoSnapshot();
+    tagInfoCacheFile.save(
+        snapshot,
+        IOManager.getNbTags(),
+        TagInfoCacheFile.checksumFile(INT_TO_STRING_ENUMERATION_FILE_NAME),
+        enableIntToStringEnums);
+  }
+
+  /**
+   * Loads the tag information list from the tag information cache file saved by {@link
+   * #saveTagListCache()}, without exporting the tag list. The cache file is only loaded if the
+   * number of Ewon tags, the contents of the int to string enumeration file, and whether int to
+   * string enumerations are enabled are unchanged since it was saved. A truncated or corrupt cache
+   * file is deleted, and false is returned.
+   *
+   * <p>Loaded tag names and descriptions use the string deduplication and lazy tag description
+   * settings, like tags created by {@link #refreshTagList()}. When only the tag information store
+   * is enabled, the loaded tag information objects are discarded once the store is built.
+   *
+   * <p>The loaded tag information list may not include tag configuration changes that do not change
+   * the number of tags, so {@link #refreshTagList()} should still be called once the application
+   * has started.
+   *
+   * @return true if the tag information list was loaded from the cache file
+   * @throws IOException if unable to open the tag information cache file or read the int to string
+   *     enumeration file
+   * @throws JSONException if int to string enumeration JSON parse fails
+   */
+  public static boolean loadTagListCache() throws IOException, JSONException {
+    synchronized (refreshLock) {
+      getIntStringEnumTags();
+
+      // Load tag strings through string pool if string deduplication enabled
+      if (tagStringPool != null) {
+        tagStringPool.startRefresh();
+      }
+      TagInfo[] tagInfoList = null;
+      try {
+        tagInfoList =
+            tagInfoCacheFile.load(
+                IOManager.getNbTags(),
+                TagInfoCacheFile.checksumFile(INT_TO_STRING_ENUMERATION_FILE_NAME),
+                enableIntToStringEnums ? intToStringEnumerationTagMappings : null,
+                tagStringPool,
+                enableLazyTagDescriptions);
+      } finally {
+        if (tagStringPool != null) {
+          if (tagInfoList != null) {
+            tagStringPool.finishRefresh();
+          } else {
+            tagStringPool.cancelRefresh();
+          }
+        }
+      }
+      if (tagInfoList == null) {
+        Logger.LOG_DEBUG("Tag information cache file is missing or out of date.");
+        return false;
+      }
+
+      // Build columnar tag information store from loaded tags if enabled
+      TagInfoStore store = null;
+      if (enableTagInfoStore) {
+        store = new TagInfoStore(tagInfoList.length);
+        for (int i = 0; i < tagInfoList.length; i++) {
+          store.add(tagInfoList[i]);
+        }
+        store.finish();
+      }
+
+      final int refreshSequence = tagLogConfigurationCache.startRefresh();
+      final TagInfoSnapshot snapshot =
+          enableTagInfoStoreOnly
+              ? createTagInfoStoreSnapshot(store, refreshSequence)
+              : createTagInfoSnapshot(
+                  tagInfoList, tagInfoList.length, true, store, refreshSequence);
+      tagInfoSnapshot = snapshot;
+      tagLogConfigurationCache.snapshotPublished(snapshot.refreshSequence);
+      Logger.LOG_DEBUG("Tag information list loaded from cache file. Tags: " + snapshot.tagCount);
+      return true;
+    }
+  }
+
+  /**
+   * Populates the tag information list at application startup. If the tag information cache file
+   * saved by {@link #saveTagListCache()} is valid, the tag information list is loaded from it
+   * immediately, and a full {@link #refreshTagList()} followed by {@link #saveTagListCache()} is
+   * started on a new {@link Thread}. Otherwise, {@link #refreshTagList()} and {@link
+   * #saveTagListCache()} are called before this method returns.
+   *
+   * @throws IOException if EDB fails or the tag information cache file cannot be read or written
+   * @throws TagInfoBufferException if line from var_lst exceeds max capacity
+   * @throws JSONException if int to string enumeration JSON parse fails
+   */
+  public static void initializeTagList() throws IOException, JSONException {
+    if (loadTagListCache()) {
+      new Thread("TagListCacheRefresh") {
+        public void run() {
+          try {
+            refreshTagList();
+            saveTagListCache();
+          } catch (Exception e) {
+            Logger.LOG_CRITICAL(
+                "Unable to refresh tag information list after loading cache file: " + e);
+          }
+        }
+      }.start();
+    } else {
+      refreshTagList();
+      saveTagListCache();
+    }
+  }
+
+  /**
+   * Requests garbage collection if required by the post-refresh memory policy.
+   *
+   * @return true if garbage collection was requested
+   */
+  private static boolean applyPostRefreshMemoryPolicy() {
+    boolean requestGarbageCollection = false;
+    if (postRefreshMemoryPolicy == TagInfoMemoryPolicy.ALWAYS) {
+      requestGarbageCollection = true;
+    } else if (postRefreshMemoryPolicy == TagInfoMemoryPolicy.LOW_FREE_HEAP) {
+      requestGarbageCollection =
+          Runtime.getRuntime().freeMemory() < postRefreshFreeHeapThresholdBytes;
     }
 
     // Flag for garbage collection
-    System.gc();
+    if (requestGarbageCollection) {
+      System.gc();
+    }
+    return requestGarbageCollection;
   }
 
-  /** Rebuilds the initial tag information list to account for indexing with tag ID number gaps. */
-  private static synchronized void rebuildInitialTagInfoListWithGaps() {
-    // Store original list to to iterate
-    TagInfo[] originalList = tagInfoList;
+  /**
+   * Gets the number of bytes of heap currently in use.
+   *
+   * @return heap used in bytes
+   */
+  private static long getHeapUsedBytes() {
+    final Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
 
-    // Create new list with size
-    final int tagIdDiff = highestTagIdSeen - lowestTagIdSeen;
-    tagInfoList = new TagInfo[tagIdDiff + 1];
+  /**
+   * Sets the memory policy applied after each call to {@link #refreshTagList()}. Defaults to {@link
+   * TagInfoMemoryPolicy#LOW_FREE_HEAP}.
+   *
+   * @param memoryPolicy post-refresh memory policy
+   */
+  public static void setPostRefreshMemoryPolicy(TagInfoMemoryPolicy memoryPolicy) {
+    postRefreshMemoryPolicy = memoryPolicy;
+  }
 
-    // Move objects from original list to new list
-    for (int x = 0; x < originalList.length; x++) {
-      final int offsetTagId = originalList[x].getId() - lowestTagIdSeen;
-      tagInfoList[offsetTagId] = originalList[x];
+  /**
+   * Sets the free heap threshold in bytes below which garbage collection is requested after a call
+   * to {@link #refreshTagList()} when the memory policy is {@link
+   * TagInfoMemoryPolicy#LOW_FREE_HEAP}. Defaults to 1 MiB.
+   *
+   * @param freeHeapThresholdBytes free heap threshold in bytes
+   */
+  public static void setPostRefreshFreeHeapThreshold(long freeHeapThresholdBytes) {
+    postRefreshFreeHeapThresholdBytes = freeHeapThresholdBytes;
+  }
+
+  /**
+   * Gets the statistics of the previous call to {@link #refreshTagList()}, including the heap used
+   * before and after the refresh. If this method is called before {@link #refreshTagList()}, an
+   * {@link IllegalStateException} will be thrown.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @return statistics of the previous refresh
+   */
+  public static TagInfoRefreshStatistics getLastRefreshStatistics() throws IllegalStateException {
+    final TagInfoRefreshStatistics statistics = lastRefreshStatistics;
+
+    // Verify tag info list has been refreshed
+    if (statistics == null) {
+      throw new IllegalStateException(
+          "Cannot get tag information refresh statistics before calling refreshTagList()");
     }
+
+    return statistics;
   }
 
   /**
    * Parse the specified line from the tag information EBD data generated in {@link
    * #refreshTagList()}. Add the parse tag information to the tag information list.
    *
-   * @param line EBD line string
-   * @throws JSONException if int to string enumeration JSON parse fails
-   * @throws IOException if int to string enumeration file read fails
+   * @param line buffer containing the EBD line bytes
+   * @param length number of valid bytes in the line buffer
    */
-  private static synchronized void processTagListEBDLine(String line)
-      throws IOException, JSONException {
-    /*
-     * Token indices
-     * index 0 - tag ID
-     * index 1 - name
-     * index 2 - description
-     * index 8 - historical logging enabled
-     * index 15 - real time logging enabled
-     * index 25 - in tag group A
-     * index 26 - in tag group B
-     * index 27 - in tag group C
-     * index 28 - in tag group D
-     * index 55 - tag type
-     * index 61 - end of line
-     */
-    final int indexTagId = 0;
-    final int indexName = 1;
-    final int indexDescription = 2;
-    final int indexHistoricalLogging = 8;
-    final int indexRealTimeLogging = 15;
-    final int indexGroupA = 25;
-    final int indexGroupB = 26;
-    final int indexGroupC = 27;
-    final int indexGroupD = 28;
-    final int indexType = 55;
-    final int indexEnd = indexType + 1;
-
-    // Tag information
-    String tagName = "";
-    String tagDescription = "";
-    int tagId = TagConstants.UNINIT_INT_VAL;
-    int tagType = TagConstants.UNINIT_INT_VAL;
-    boolean tagInGroupA = false;
-    boolean tagInGroupB = false;
-    boolean tagInGroupC = false;
-    boolean tagInGroupD = false;
-    boolean tagHistoricalLoggingEnabled = false;
-    boolean tagRealTimeLoggingEnabled = false;
-
-    // Tokenize line
-    final boolean returnDelimiters = false;
-    final String delimiter = ";";
-    QuoteSafeStringTokenizer quoteSafeStringTokenizer =
-        new QuoteSafeStringTokenizer(line, delimiter, returnDelimiters);
-
-    // Loop through tokens
-    while (quoteSafeStringTokenizer.hasMoreElements()
-        && quoteSafeStringTokenizer.getPrevTokenIndex() < indexEnd) {
-
-      // Read next token
-      String currentToken = quoteSafeStringTokenizer.nextToken();
-
-      // Read info from token
-      switch (quoteSafeStringTokenizer.getPrevTokenIndex()) {
-        case indexTagId:
-          // Store tag id
-          tagId = Integer.parseInt(currentToken);
-
-          // Store tag id if lowest or highest seen
-          if (lowestTagIdSeen == TagConstants.UNINIT_INT_VAL) {
-            lowestTagIdSeen = tagId;
-          } else if (tagId < lowestTagIdSeen) {
-            lowestTagIdSeen = tagId;
-          }
+  private static void processTagListEBDLine(byte[] line, int length) {
+    // Parse line, ignoring lines without a complete tag entry
+    if (!tagListLineParser.parse(line, length)) {
+      return;
+    }
+    final int tagId = tagListLineParser.tagId;
 
-          if (highestTagIdSeen == TagConstants.UNINIT_INT_VAL) {
-            highestTagIdSeen = tagId;
-          } else if (tagId > highestTagIdSeen) {
-            highestTagIdSeen = tagId;
-          }
-          break;
-        case indexName:
-          // Remove double quotes from returned tag name and store
-          tagName = currentToken.substring(1, currentToken.length() - 1);
-          break;
-        case indexDescription:
-          // Remove double quotes from returned tag description and store
-          tagDescription = currentToken.substring(1, currentToken.length() - 1);
-          break;
-        case indexHistoricalLogging:
-          tagHistoricalLoggingEnabled = convertStrToBool(currentToken);
-          break;
-        case indexRealTimeLogging:
-          tagRealTimeLoggingEnabled = convertStrToBool(currentToken);
-          break;
-        case indexGroupA:
-          tagInGroupA = convertStrToBool(currentToken);
-          break;
-        case indexGroupB:
-          tagInGroupB = convertStrToBool(currentToken);
-          break;
-        case indexGroupC:
-          tagInGroupC = convertStrToBool(currentToken);
-          break;
-        case indexGroupD:
-          tagInGroupD = convertStrToBool(currentToken);
-          break;
-        case indexType:
-          tagType = Integer.parseInt(currentToken);
-
-          // Convert tag type integer to object
-          TagType tagTypeObj = TagType.getTagTypeFromInt(tagType);
-
-          // Type is the last index, form TagInfo object
+    // Only add tag to store if tag information list is not built
+    if (refreshTagInfoList == null) {
+      addTagListLineToStore(line);
+      return;
+    }
+
+    // Track if tags are in order of tag ID
+    if (refreshTagInfoListInsertIndex > 0
+        && tagId < refreshTagInfoList[refreshTagInfoListInsertIndex - 1].getId()) {
+      refreshTagIdsSorted = false;
+    }
+
+    // Reuse unchanged tag info object from previous refresh if incremental refresh enabled
+    long tagFingerprint = 0;
+    TagInfo currentTagInfo = null;
+    if (currentTagFingerprints != null) {
+      tagFingerprint = tagListLineParser.fingerprint(line);
+      if (previousTagFingerprints != null) {
+        currentTagInfo = previousTagFingerprints.get(tagId, tagFingerprint);
+        if (currentTagInfo != null && !isIntStringEnumUnchanged(currentTagInfo)) {
+          currentTagInfo = null;
+        }
+      }
+    }
+
+    if (currentTagInfo == null) {
+      // Only the name and description are converted to strings
+      String tagName =
+          tagStringPool != null
+              ? tagStringPool.get(line, tagListLineParser.nameOffset, tagListLineParser.nameLength)
+              : new String(line, tagListLineParser.nameOffset, tagListLineParser.nameLength);
+      Object tagDescription;
+      if (tagListLineParser.descriptionLength == 0) {
+        tagDescription = "";
+      } else if (enableLazyTagDescriptions) {
+        // Keep description bytes, and only create a string when the description is requested
+        byte[] tagDescriptionBytes = new byte[tagListLineParser.descriptionLength];
+        System.arraycopy(
+            line,
+            tagListLineParser.descriptionOffset,
+            tagDescriptionBytes,
+            0,
+            tagDescriptionBytes.length);
+        tagDescription = tagDescriptionBytes;
+      } else if (tagStringPool != null) {
+        tagDescription =
+            tagStringPool.get(
+                line, tagListLineParser.descriptionOffset, tagListLineParser.descriptionLength);
+      } else {
+        tagDescription =
+            new String(
+                line, tagListLineParser.descriptionOffset, tagListLineParser.descriptionLength);
+      }
+
+      // Convert tag type integer to object
+      TagType tagTypeObj = TagType.getTagTypeFromInt(tagListLineParser.tagType);
+
+      // Form TagInfo object
+      currentTagInfo =
           createTagInfoObject(
               tagId,
               tagName,
               tagDescription,
-              tagHistoricalLoggingEnabled,
-              tagRealTimeLoggingEnabled,
-              tagInGroupA,
-              tagInGroupB,
-              tagInGroupC,
-              tagInGroupD,
+              tagListLineParser.historicalLoggingEnabled,
+              tagListLineParser.realTimeLoggingEnabled,
+              tagListLineParser.inGroupA,
+              tagListLineParser.inGroupB,
+              tagListLineParser.inGroupC,
+              tagListLineParser.inGroupD,
+              tagListLineParser.historicalLogInterval,
               tagTypeObj);
-          break;
+    } else {
+      // Keep strings of reused tag in string pool, as they were not looked up by this refresh
+      if (tagStringPool != null) {
+        tagStringPool.get(currentTagInfo.getName());
+        final String tagDescription = currentTagInfo.getDescriptionIfString();
+        if (tagDescription != null) {
+          tagStringPool.get(tagDescription);
+        }
       }
+      reusedTagInfoCount++;
+    }
+
+    // Store fingerprint for next incremental refresh
+    if (currentTagFingerprints != null) {
+      currentTagFingerprints.put(tagId, tagFingerprint, currentTagInfo);
     }
+
+    // Add tag to store if enabled
+    if (refreshTagInfoStore != null) {
+      refreshTagInfoStore.add(
+          tagId,
+          line,
+          tagListLineParser.nameOffset,
+          tagListLineParser.nameLength,
+          line,
+          tagListLineParser.descriptionOffset,
+          tagListLineParser.descriptionLength,
+          currentTagInfo.getFlags(),
+          currentTagInfo.getHistoricalLogInterval(),
+          currentTagInfo.getType(),
+          currentTagInfo instanceof TagInfoEnumeratedIntToString
+              ? ((TagInfoEnumeratedIntToString) currentTagInfo).getEnumMapping()
+              : null);
+    }
+
+    refreshTagInfoList[refreshTagInfoListInsertIndex] = currentTagInfo;
+    refreshTagInfoListInsertIndex++;
+  }
+
+  /**
+   * Adds the tag of the tag list line parsed by {@link #tagListLineParser} to the tag information
+   * store being built, without creating a tag information object. A tag name string is only created
+   * to look up int to string enumeration mappings, when there are any.
+   *
+   * @param line buffer containing the EBD line bytes
+   */
+  private static void addTagListLineToStore(byte[] line) {
+    // Look up int to string enumeration mapping by tag name
+    TagEnumMapping tagIntToStringMappings = null;
+    if (enableIntToStringEnums && !intToStringEnumerationTagMappings.isEmpty()) {
+      tagIntToStringMappings =
+          (TagEnumMapping)
+              intToStringEnumerationTagMappings.get(
+                  new String(line, tagListLineParser.nameOffset, tagListLineParser.nameLength));
+    }
+
+    refreshTagInfoStore.add(
+        tagListLineParser.tagId,
+        line,
+        tagListLineParser.nameOffset,
+        tagListLineParser.nameLength,
+        line,
+        tagListLineParser.descriptionOffset,
+        tagListLineParser.descriptionLength,
+        packTagFlags(
+            tagListLineParser.historicalLoggingEnabled,
+            tagListLineParser.realTimeLoggingEnabled,
+            tagListLineParser.inGroupA,
+            tagListLineParser.inGroupB,
+            tagListLineParser.inGroupC,
+            tagListLineParser.inGroupD),
+        tagListLineParser.historicalLogInterval,
+        tagIntToStringMappings != null
+            ? TagType.INTEGER_MAPPED_STRING
+            : TagType.getTagTypeFromInt(tagListLineParser.tagType),
+        tagIntToStringMappings);
+  }
+
+  /**
+   * Checks if the int to string enumeration of a tag info object from the previous refresh still
+   * matches the current int to string enumeration mappings for its tag name.
+   *
+   * @param tagInfo tag info object from the previous refresh
+   * @return true if the tag info object can be reused without changing its enumeration
+   */
+  private static boolean isIntStringEnumUnchanged(TagInfo tagInfo) {
+    TagEnumMapping tagIntToStringMappings = null;
+    if (enableIntToStringEnums) {
+      tagIntToStringMappings =
+          (TagEnumMapping) intToStringEnumerationTagMappings.get(tagInfo.getName());
+    }
+
+    if (tagInfo instanceof TagInfoEnumeratedIntToString) {
+      return ((TagInfoEnumeratedIntToString) tagInfo).getEnumMapping() == tagIntToStringMappings;
+    }
+    return tagIntToStringMappings == null;
+  }
+
+  /**
+   * Call this function to enable incremental tag list refreshes. When enabled, {@link
+   * #refreshTagList()} keeps a fingerprint of each tag's parsed tag list columns, and reuses the
+   * {@link TagInfo} object from the previous refresh for each tag whose columns and int to string
+   * enumeration are unchanged. Only added or changed tags create new objects.
+   */
+  public static void enableIncrementalRefresh() {
+    enableIncrementalRefresh = true;
   }
 
   /**
@@ -354,168 +834,175 @@ public class TagInfoManager {
     enableIntToStringEnums = true;
   }
 
+  /**
+   * Call this function to enable tag string deduplication. When enabled, {@link #refreshTagList()}
+   * canonicalizes tag name and description strings with a string pool kept across refreshes, so
+   * that equal strings share a single {@link String} object, and strings unchanged since the
+   * previous refresh are not created again. The number of deduplicated strings is available from
+   * {@link #getLastRefreshStatistics()}.
+   */
+  public static void enableStringDeduplication() {
+    if (tagStringPool == null) {
+      tagStringPool = new TagStringPool();
+    }
+  }
+
+  /**
+   * Call this function to enable lazy tag descriptions. When enabled, {@link #refreshTagList()}
+   * keeps the description of each tag as bytes instead of a {@link String}, and a new {@link
+   * String} is only created when {@link TagInfo#getDescription()} is called. This reduces the
+   * allocation of each refresh and the heap used by the tag information list, for applications that
+   * rarely use tag descriptions. Takes effect for tags created by the next call to {@link
+   * #refreshTagList()}.
+   */
+  public static void enableLazyTagDescriptions() {
+    enableLazyTagDescriptions = true;
+  }
+
+  /**
+   * Call this function to enable building of the columnar {@link TagInfoStore} by {@link
+   * #refreshTagList()}. The store holds tag information in parallel primitive arrays, and can be
+   * iterated by index without creating per-tag objects. Once enabled, the store is available from
+   * {@link #getTagInfoStore()} after the next call to {@link #refreshTagList()}.
+   *
+   * <p>The store is built in addition to the tag information list, from the parsed tag list lines,
+   * so enabling it increases the heap used by tag information. To replace the tag information list
+   * with the store, use {@link #enableTagInfoStoreOnly()} instead.
+   */
+  public static void enableTagInfoStore() {
+    enableTagInfoStore = true;
+  }
+
+  /**
+   * Call this function to build only the columnar {@link TagInfoStore} by {@link
+   * #refreshTagList()}, without the tag information list. No {@link TagInfo} objects are kept, and
+   * the heap used by tag information is reduced to the store columns and the name and description
+   * bytes of each tag.
+   *
+   * <p>Once enabled, {@link #getTagInfoFromTagId(int)} creates a new {@link TagInfo} view of the
+   * tag from the store on each call, and {@link TagValueSnapshot} reads tag types from the store.
+   * Methods which return tag information lists, arrays or indexes, such as {@link
+   * #getTagInfoList()}, {@link #getTagInfoFromTagName(String)} and {@link TagQuery}, throw an
+   * {@link IllegalStateException}. Logging configurations applied with {@link
+   * #applyTagLogConfigurationsAsync(Map)} are always saved, as tags are not indexed by name.
+   * Incremental refresh and string deduplication have no effect. Takes effect from the next call to
+   * {@link #refreshTagList()}.
+   */
+  public static void enableTagInfoStoreOnly() {
+    enableTagInfoStore = true;
+    enableTagInfoStoreOnly = true;
+  }
+
   /**
    * Creates a tag info object either with or without the tag int to string enumeration.
    *
    * @param tagId the ID of a tag
    * @param tagName the name of a tag
-   * @param tagDescription the description of a tag
+   * @param tagDescription the description of a tag, as a {@link String} or description bytes
    * @param tagHistoricalLoggingEnabled true if historical logging is enabled for the tag
    * @param tagRealTimeLoggingEnabled true if real time logging is enabled for the tag
    * @param tagInGroupA true if tag is added to group A
    * @param tagInGroupB true if tag is added to group B
    * @param tagInGroupC true if tag is added to group C
    * @param tagInGroupD true if tag is added to group D
+   * @param tagHistoricalLogInterval historical log interval of the tag
    * @param tagTypeObj TagType object associated with this tag
-   * @throws JSONException if int to string enumeration JSON parse fails
-   * @throws IOException if in to string enumeration file read fails
-   * @throws NumberFormatException if the key defined in int to string enum mappings is not an
-   *     integer
+   * @return created tag info object
    */
-  private static void createTagInfoObject(
+  private static TagInfo createTagInfoObject(
       int tagId,
       String tagName,
-      String tagDescription,
+      Object tagDescription,
       boolean tagHistoricalLoggingEnabled,
       boolean tagRealTimeLoggingEnabled,
       boolean tagInGroupA,
       boolean tagInGroupB,
       boolean tagInGroupC,
       boolean tagInGroupD,
-      TagType tagTypeObj)
-      throws IOException, JSONException {
-    String[] tagIntToStringMappings = null;
-    boolean enumTag = false;
+      int tagHistoricalLogInterval,
+      TagType tagTypeObj) {
+    TagEnumMapping tagIntToStringMappings = null;
     if (enableIntToStringEnums) {
-      for (int tagListIndex = 0;
-          tagListIndex < intToStringEnumerationTagList.size();
-          tagListIndex++) {
-        if (((String) intToStringEnumerationTagList.get(tagListIndex)).equals(tagName)) {
-          enumTag = true;
-          tagIntToStringMappings = getIntStringEnumTagMappings(tagName);
-          break;
-        }
-      }
+      tagIntToStringMappings = (TagEnumMapping) intToStringEnumerationTagMappings.get(tagName);
     }
 
+    final int tagFlags =
+        packTagFlags(
+            tagHistoricalLoggingEnabled,
+            tagRealTimeLoggingEnabled,
+            tagInGroupA,
+            tagInGroupB,
+            tagInGroupC,
+            tagInGroupD);
+
     TagInfo currentTagInfo;
-    if (enumTag) {
+    if (tagIntToStringMappings != null) {
       tagTypeObj = TagType.INTEGER_MAPPED_STRING;
       currentTagInfo =
           new TagInfoEnumeratedIntToString(
               tagId,
               tagName,
               tagDescription,
-              tagHistoricalLoggingEnabled,
-              tagRealTimeLoggingEnabled,
-              tagInGroupA,
-              tagInGroupB,
-              tagInGroupC,
-              tagInGroupD,
+              tagFlags,
+              tagHistoricalLogInterval,
               tagTypeObj,
               tagIntToStringMappings);
     } else {
       currentTagInfo =
           new TagInfo(
-              tagId,
-              tagName,
-              tagDescription,
-              tagHistoricalLoggingEnabled,
-              tagRealTimeLoggingEnabled,
-              tagInGroupA,
-              tagInGroupB,
-              tagInGroupC,
-              tagInGroupD,
-              tagTypeObj);
+              tagId, tagName, tagDescription, tagFlags, tagHistoricalLogInterval, tagTypeObj);
     }
-    tagInfoList[tagInfoListInsertIndex] = currentTagInfo;
-    tagInfoListInsertIndex++;
+    return currentTagInfo;
   }
 
   /**
-   * Reads the enumeration file to get a list of tags that have int to string enumerations and
-   * stores the list. This must be done once at the start of the application and is handled when the
-   * TagInfoList is created.
+   * Packs the specified logging flags and tag group booleans into packed tag flags.
    *
-   * @throws IOException if int to string enumeration file read fails
-   * @throws JSONException if int to string enumeration JSON parse fails
+   * @param tagHistoricalLoggingEnabled true if historical logging is enabled for the tag
+   * @param tagRealTimeLoggingEnabled true if real time logging is enabled for the tag
+   * @param tagInGroupA true if tag is added to group A
+   * @param tagInGroupB true if tag is added to group B
+   * @param tagInGroupC true if tag is added to group C
+   * @param tagInGroupD true if tag is added to group D
+   * @return packed tag flags
    */
-  private static void getIntStringEnumTags() throws IOException, JSONException {
-    if (enableIntToStringEnums) {
-      ArrayList tagList = new ArrayList();
-      JSONObject allTagIntToStringMappingsJson;
-      JSONArray tagIntToStringMappingsJsonArray;
-      allTagIntToStringMappingsJson =
-          new JSONObject(FileAccessManager.readFileToString(INT_TO_STRING_ENUMERATION_FILE_NAME));
-      tagIntToStringMappingsJsonArray =
-          (JSONArray) allTagIntToStringMappingsJson.get("enumeratedTagList");
-      final int tagListJsonArrayLength = tagIntToStringMappingsJsonArray.length();
-      for (int i = 0; i < tagListJsonArrayLength; i++) {
-        String tagValueAsString = tagIntToStringMappingsJsonArray.getString(i);
-        tagList.add(tagValueAsString);
-      }
-      intToStringEnumerationTagList = tagList;
+  private static int packTagFlags(
+      boolean tagHistoricalLoggingEnabled,
+      boolean tagRealTimeLoggingEnabled,
+      boolean tagInGroupA,
+      boolean tagInGroupB,
+      boolean tagInGroupC,
+      boolean tagInGroupD) {
+    int tagGroupMask = 0;
+    if (tagInGroupA) {
+      tagGroupMask |= TagGroup.A.getMask();
+    }
+    if (tagInGroupB) {
+      tagGroupMask |= TagGroup.B.getMask();
+    }
+    if (tagInGroupC) {
+      tagGroupMask |= TagGroup.C.getMask();
     }
+    if (tagInGroupD) {
+      tagGroupMask |= TagGroup.D.getMask();
+    }
+    return TagInfo.packFlags(tagHistoricalLoggingEnabled, tagRealTimeLoggingEnabled, tagGroupMask);
   }
 
   /**
-   * For a single tag, get the array of string mappings corresponding to the given integer tag.
+   * Reads the enumeration file to get a table of tags that have int to string enumerations and
+   * stores the table. This must be done once at the start of the application and is handled when
+   * the TagInfoList is created. The enumeration file is only read and parsed again if it has
+   * changed since the previous call.
    *
-   * @param tagName the name of the Ewon tag
-   * @return an array of string mappings corresponding to the current integer tag
    * @throws IOException if int to string enumeration file read fails
    * @throws JSONException if int to string enumeration JSON parse fails
-   * @throws NumberFormatException if the key defined in int to string enum mappings is not an
-   *     integer
    */
-  private static String[] getIntStringEnumTagMappings(String tagName)
-      throws IOException, JSONException {
-    String[] tagStringMappings = null;
-    JSONObject tagIntToStringMappingsFileJson;
-    JSONObject tagIntToStringMappingsJson;
-    JSONArray tagIntToStringMappingsJsonArray;
+  private static void getIntStringEnumTags() throws IOException, JSONException {
     if (enableIntToStringEnums) {
-      tagIntToStringMappingsFileJson =
-          new JSONObject(FileAccessManager.readFileToString(INT_TO_STRING_ENUMERATION_FILE_NAME));
-      tagIntToStringMappingsJson = (JSONObject) tagIntToStringMappingsFileJson.get("tags");
-      tagIntToStringMappingsJsonArray = (JSONArray) tagIntToStringMappingsJson.get(tagName);
-      final int length = tagIntToStringMappingsJsonArray.length();
-      int biggestIndex = 0;
-
-      /* Int to string enumerations are held in a JSON array of one key/value pair for each index in the array.
-       * To get the key of a key value pair, get the first(only) item returned by JSONObject.names()
-       * for the JSON object index.
-       */
-      final int tagIntToStringEnumStringKeyIndex = 0;
-      for (int jsonArrayIndex = 0; jsonArrayIndex < length; jsonArrayIndex++) {
-        int currentIndex =
-            Integer.parseInt(
-                (String)
-                    ((JSONObject) tagIntToStringMappingsJsonArray.get(jsonArrayIndex))
-                        .names()
-                        .get(tagIntToStringEnumStringKeyIndex));
-
-        biggestIndex = currentIndex > biggestIndex ? currentIndex : biggestIndex;
-      }
-      tagStringMappings = new String[biggestIndex + 1];
-      for (int i = 0; i < length; i++) {
-        JSONObject jsonObject = (JSONObject) tagIntToStringMappingsJsonArray.get(i);
-        String mappingKey = (String) jsonObject.names().get(tagIntToStringEnumStringKeyIndex);
-        String tagValueAsString = (String) jsonObject.get(mappingKey);
-        tagStringMappings[Integer.parseInt(mappingKey)] = tagValueAsString;
-      }
+      intToStringEnumerationCache.refresh();
+      intToStringEnumerationTagMappings = intToStringEnumerationCache.getTagMappings();
     }
-    return tagStringMappings;
-  }
-
-  /**
-   * Convert a string boolean ("0"/"1") to boolean.
-   *
-   * @param stringBool string boolean ("0"/"1")
-   * @return converted boolean
-   */
-  private static boolean convertStrToBool(String stringBool) {
-    return stringBool.equals("1");
   }
 
   /**
@@ -525,18 +1012,62 @@ public class TagInfoManager {
    * <p>Warning: TagInfo array has tags indexed by ID with an offset of the lowest tag ID. When
    * accessing elements, the offset must be accounted for ( e.g. index = desiredID - lowestID).
    *
+   * <p>When there are tag ID gaps, the array is created by the first call after each {@link
+   * #refreshTagList()}, and has an element for every tag ID between the lowest and highest tag ID.
+   * Use {@link #getTagInfoFromTagId(int)} or {@link #getTagInfoListFiltered(TagGroup)} to avoid
+   * creating the array.
+   *
+   * <p>The returned array is read-only, as it is shared with the tag information list read by other
+   * threads, and must not be modified.
+   *
    * @throws IllegalStateException when tag list has not been populated with {@link
    *     #refreshTagList()}
    * @return populated tag information array
    */
-  public static synchronized TagInfo[] getTagInfoArray() throws IllegalStateException {
+  public static TagInfo[] getTagInfoArray() throws IllegalStateException {
+    return getTagInfoListSnapshot().getTagInfoArray();
+  }
+
+  /**
+   * Gets the tag information snapshot published by the previous call to {@link #refreshTagList()}.
+   * Each public read method reads the snapshot once, so that all values it uses come from the same
+   * refresh.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @return tag information snapshot
+   */
+  static TagInfoSnapshot getTagInfoSnapshot() throws IllegalStateException {
+    final TagInfoSnapshot snapshot = tagInfoSnapshot;
+
     // Verify tag info list has been populated
-    if (tagInfoList == null) {
+    if (snapshot == null) {
       throw new IllegalStateException(
           "Cannot get tag information list before calling refreshTagList()");
     }
 
-    return tagInfoList;
+    return snapshot;
+  }
+
+  /**
+   * Gets the tag information snapshot published by the previous call to {@link #refreshTagList()},
+   * verifying that it holds the tag information list and its indexes.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}, or only the tag information store is enabled
+   * @return tag information snapshot
+   */
+  static TagInfoSnapshot getTagInfoListSnapshot() throws IllegalStateException {
+    final TagInfoSnapshot snapshot = getTagInfoSnapshot();
+
+    // Verify tag info list has been built
+    if (snapshot.tags == null) {
+      throw new IllegalStateException(
+          "Cannot get tag information list when only the tag information store is enabled with"
+              + " enableTagInfoStoreOnly()");
+    }
+
+    return snapshot;
   }
 
   /**
@@ -544,32 +1075,110 @@ public class TagInfoManager {
    * #refreshTagList()}. If this method is called before {@link #refreshTagList()}, an {@link
    * IllegalStateException} will be thrown.
    *
+   * <p>This method does not lock or wait for a tag list refresh in progress, and may be called
+   * concurrently from multiple threads.
+   *
+   * <p>Tags are looked up with a tag ID index, which uses a binary search of the tag IDs instead of
+   * a table indexed by tag ID when there are many tag ID gaps. When only the tag information store
+   * is enabled with {@link #enableTagInfoStoreOnly()}, a new {@link TagInfo} view of the tag is
+   * created from the store by each call.
+   *
    * @throws IllegalStateException when tag list has not been populated with {@link
    *     #refreshTagList()}
-   * @throws IndexOutOfBoundsException when (tagId - {@link #lowestTagIdSeen}) is not an index
-   *     within the TagInfo array bounds.
+   * @throws IndexOutOfBoundsException when tagId is lower than {@link #getLowestTagIdSeen()} or
+   *     higher than {@link #getHighestTagIdSeen()}
    * @param tagId the Ewon tag ID
-   * @return {@link TagInfo} object associated with the given tag ID
+   * @return {@link TagInfo} object associated with the given tag ID, or null if there is no tag
+   *     with the given tag ID
    */
-  public static synchronized TagInfo getTagInfoFromTagId(int tagId)
+  public static TagInfo getTagInfoFromTagId(int tagId)
       throws IllegalStateException, IndexOutOfBoundsException {
-    return ((TagInfo) getTagInfoArray()[tagId - lowestTagIdSeen]);
+    return getTagInfoSnapshot().getTagInfo(tagId);
+  }
+
+  /**
+   * Gets a {@link TagInfo} object with the specified tag name from the tag info array populated by
+   * calling {@link #refreshTagList()}. If this method is called before {@link #refreshTagList()},
+   * an {@link IllegalStateException} will be thrown.
+   *
+   * <p>This method uses a hash index of tag names, and does not allocate or wait for a tag list
+   * refresh in progress.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @param tagName the Ewon tag name
+   * @return {@link TagInfo} object with the given tag name, or null if no tag has the given name
+   */
+  public static TagInfo getTagInfoFromTagName(String tagName) throws IllegalStateException {
+    return getTagInfoListSnapshot().nameIndex.get(tagName);
+  }
+
+  /**
+   * Gets a {@link TagInfo} object with the specified tag name, ignoring case, from the tag info
+   * array populated by calling {@link #refreshTagList()}. If multiple tags have names that differ
+   * only by case, the tag with the lowest index in the tag info array is returned. If this method
+   * is called before {@link #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   *
+   * <p>This method uses a hash index of tag names, and does not allocate or wait for a tag list
+   * refresh in progress.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @param tagName the Ewon tag name
+   * @return {@link TagInfo} object with the given tag name, or null if no tag has the given name
+   */
+  public static TagInfo getTagInfoFromTagNameIgnoreCase(String tagName)
+      throws IllegalStateException {
+    return getTagInfoListSnapshot().nameIndex.getIgnoreCase(tagName);
+  }
+
+  /**
+   * Gets the IDs of the tags with names starting with the specified prefix, in tag name order. If
+   * this method is called before {@link #refreshTagList()}, an {@link IllegalStateException} will
+   * be thrown.
+   *
+   * <p>Tags are found by binary search of the tags sorted by tag name, which are sorted by the
+   * first search after each call to {@link #refreshTagList()}.
+   *
+   * @param prefix tag name prefix
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @return IDs of tags with names starting with the prefix
+   */
+  public static int[] findTagsByPrefix(String prefix) throws IllegalStateException {
+    return getTagInfoListSnapshot().nameIndex.findTagIdsByPrefix(prefix);
+  }
+
+  /**
+   * Gets the IDs of the tags with names matching the specified wildcard pattern, in tag name order.
+   * In the pattern, <code>*</code> matches any sequence of characters, including none, and <code>?
+   * </code> matches any single character. If this method is called before {@link
+   * #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   *
+   * <p>Only tags with names starting with the characters before the first wildcard are compared
+   * with the pattern, so patterns starting with a literal prefix, such as <code>Line1_*_Speed
+   * </code>, are faster than patterns starting with a wildcard.
+   *
+   * @param pattern tag name wildcard pattern
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @return IDs of tags with names matching the pattern
+   */
+  public static int[] findTagsByWildcard(String pattern) throws IllegalStateException {
+    return getTagInfoListSnapshot().nameIndex.findTagIdsByWildcard(pattern);
   }
 
   /**
    * Gets the tag info list populated by calling {@link #refreshTagList()}. If this method is called
    * before {@link #refreshTagList()}, an {@link IllegalStateException} will be thrown.
    *
+   * <p>The returned list is read-only, as it is backed by the tag information list read by other
+   * threads.
+   *
    * @return populated tag information list
    */
-  public static synchronized List getTagInfoList() {
-    // Verify tag info list has been populated
-    if (tagInfoList == null) {
-      throw new IllegalStateException(
-          "Cannot get tag information list before calling refreshTagList()");
-    }
-
-    return Arrays.asList(tagInfoList);
+  public static List getTagInfoList() {
+    return Collections.unmodifiableList(Arrays.asList(getTagInfoListSnapshot().getTagInfoArray()));
   }
 
   /**
@@ -577,50 +1186,27 @@ public class TagInfoManager {
    * specified tag group(s). If this method is called before {@link #refreshTagList()}, an {@link
    * IllegalStateException} will be thrown.
    *
+   * <p>The returned list is read-only. Filtered lists are computed from a tag group index built by
+   * {@link #refreshTagList()}, and the list for each combination of tag groups is reused until the
+   * next call to {@link #refreshTagList()}.
+   *
    * @param tagGroups tag groups to include
    * @return filtered tag information list
    */
-  public static synchronized List getTagInfoListFiltered(List tagGroups) {
-    // Verify tag info list has been populated
-    if (tagInfoList == null) {
-      throw new IllegalStateException(
-          "Cannot get tag information list before calling refreshTagList()");
-    }
-
-    /*
-     * Create array list to store filtered tags.
-     *
-     * Use an initial capacity matching the size of full tag list.
-     * This will potentially reduce the number of resizing operations
-     * of the ArrayList.
-     */
-    ArrayList filteredTagInfoList = new ArrayList(tagInfoList.length);
-
-    // Loop through each tag in tag info list
-    for (int i = 0; i < tagInfoListInsertIndex; i++) {
-      // Get tag at array index and its group
-      TagInfo currentTagInfo = tagInfoList[i];
-      if (currentTagInfo != null) {
-        List currentTagGroups = currentTagInfo.getTagGroups();
-
-        // Check if tag belongs to a filter
-        boolean filterMatch = false;
-        for (int x = 0; x < tagGroups.size(); x++) {
-          if (currentTagGroups.contains(tagGroups.get(x))) {
-            filterMatch = true;
-          }
-        }
-
-        // If tag is in desired group(s), add to filtered tag info list
-        if (filterMatch) {
-          filteredTagInfoList.add(currentTagInfo);
-        }
-      }
-    }
+  public static List getTagInfoListFiltered(List tagGroups) {
+    return getTagInfoListFiltered(TagGroup.getMask(tagGroups));
+  }
 
-    // Shrink filtered tag array list to remove unused spaces and return
-    filteredTagInfoList.trimToSize();
-    return filteredTagInfoList;
+  /**
+   * Gets a read-only filtered tag info list containing only tags from the tag info list that are in
+   * at least one of the tag groups in the specified tag group combination bit mask. If this method
+   * is called before {@link #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   *
+   * @param groupMask tag group combination bit mask
+   * @return filtered tag information list
+   */
+  private static List getTagInfoListFiltered(int groupMask) {
+    return getTagInfoListSnapshot().groupIndex.getTagInfoList(groupMask);
   }
 
   /**
@@ -631,7 +1217,7 @@ public class TagInfoManager {
    * @param tagGroups tag groups to include
    * @return filtered tag information list
    */
-  public static synchronized List getTagInfoListFiltered(TagGroup[] tagGroups) {
+  public static List getTagInfoListFiltered(TagGroup[] tagGroups) {
     return getTagInfoListFiltered(Arrays.asList(tagGroups));
   }
 
@@ -643,8 +1229,8 @@ public class TagInfoManager {
    * @param tagGroup tag group to include
    * @return filtered tag information list
    */
-  public static synchronized List getTagInfoListFiltered(TagGroup tagGroup) {
-    return getTagInfoListFiltered(new TagGroup[] {tagGroup});
+  public static List getTagInfoListFiltered(TagGroup tagGroup) {
+    return getTagInfoListFiltered(tagGroup.getMask());
   }
 
   /**
@@ -652,21 +1238,102 @@ public class TagInfoManager {
    * specified tag group and have real time logging enabled. If this method is called before {@link
    * #refreshTagList()}, an {@link IllegalStateException} will be thrown.
    *
+   * <p>The returned list is a modifiable copy. To avoid copying the list, use {@link
+   * #getRealTimeTagInfoListView(TagGroup)}.
+   *
    * @param tagGroup tag group to include
    * @return filtered real time tag information list
    */
   public static ArrayList getRealTimeTagInfoListFiltered(TagGroup tagGroup) {
-    ArrayList allTags = (ArrayList) getTagInfoListFiltered(tagGroup);
-    ArrayList realTimeTags = new ArrayList();
-    if (allTags != null) {
-      for (int i = 0; i < allTags.size(); i++) {
-        TagInfo tag = (TagInfo) allTags.get(i);
-        if (tag.isRealTimeLogEnabled()) {
-          realTimeTags.add(tag);
-        }
-      }
+    return new ArrayList(getRealTimeTagInfoListView(tagGroup));
+  }
+
+  /**
+   * Gets a read-only filtered tag info list containing only tags from the tag info list that are in
+   * the specified tag group and have real time logging enabled. If this method is called before
+   * {@link #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   *
+   * <p>The list of each tag group is built by {@link #refreshTagList()} and returned by all calls
+   * until the next refresh, so repeated calls do not filter the tag list or allocate.
+   *
+   * @param tagGroup tag group to include
+   * @return read-only filtered real time tag information list
+   */
+  public static List getRealTimeTagInfoListView(TagGroup tagGroup) {
+    return getTagInfoListSnapshot().groupIndex.getRealTimeTagInfoList(tagGroup.getMask());
+  }
+
+  /**
+   * Gets a read-only filtered tag info list containing only tags from the tag info list that are in
+   * the specified tag group and have historical logging enabled. If this method is called before
+   * {@link #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   *
+   * <p>The list of each tag group is built by {@link #refreshTagList()} and returned by all calls
+   * until the next refresh, so repeated calls do not filter the tag list or allocate.
+   *
+   * @param tagGroup tag group to include
+   * @return read-only filtered historical tag information list
+   */
+  public static List getHistoricalTagInfoListView(TagGroup tagGroup) {
+    return getTagInfoListSnapshot().groupIndex.getHistoricalTagInfoList(tagGroup.getMask());
+  }
+
+  /**
+   * Gets the tag IDs of the tags of the specified tag type, in ascending order. If this method is
+   * called before {@link #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   *
+   * <p>The tag IDs of each tag type are stored in a contiguous array by {@link #refreshTagList()},
+   * and the same array is returned by all calls until the next refresh. The returned array must not
+   * be modified.
+   *
+   * @param tagType tag type to include
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @return sorted tag IDs of the tag type
+   */
+  public static int[] getTagIdsByType(TagType tagType) throws IllegalStateException {
+    return getTagInfoListSnapshot().typeIndex.getTagIds(tagType);
+  }
+
+  /**
+   * Passes each tag matching the specified query to the specified visitor, in ascending tag ID
+   * order. Matching tags are found with the bitset indexes built by {@link #refreshTagList()}, and
+   * no intermediate list is created. If this method is called before {@link #refreshTagList()}, an
+   * {@link IllegalStateException} will be thrown.
+   *
+   * <p>All visited tags come from the same call to {@link #refreshTagList()}, even if the tag list
+   * is refreshed while visiting. Visiting stops early if the visitor returns false.
+   *
+   * @param query query to match tags with
+   * @param visitor visitor to pass matching tags to
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   */
+  public static void forEachTag(TagQuery query, TagInfoVisitor visitor)
+      throws IllegalStateException {
+    getTagInfoListSnapshot().bitsetIndex.forEach(query, visitor);
+  }
+
+  /**
+   * Gets the columnar tag information store built by the previous call to {@link
+   * #refreshTagList()}. If this method is called before the store has been enabled with {@link
+   * #enableTagInfoStore()} or {@link #enableTagInfoStoreOnly()} and built by {@link
+   * #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   *
+   * @throws IllegalStateException when tag information store has not been built
+   * @return columnar tag information store
+   */
+  public static TagInfoStore getTagInfoStore() throws IllegalStateException {
+    final TagInfoStore store = getTagInfoSnapshot().store;
+
+    // Verify tag info store has been built
+    if (store == null) {
+      throw new IllegalStateException(
+          "Cannot get tag information store before calling enableTagInfoStore() and"
+              + " refreshTagList()");
     }
-    return realTimeTags;
+
+    return store;
   }
 
   /**
@@ -677,13 +1344,15 @@ public class TagInfoManager {
    * @return lowest tag ID seen
    */
   public static int getLowestTagIdSeen() {
+    final TagInfoSnapshot snapshot = tagInfoSnapshot;
+
     // Verify lowest tag ID seen variable is set
-    if (lowestTagIdSeen == TagConstants.UNINIT_INT_VAL) {
+    if (snapshot == null || snapshot.lowestTagId == TagConstants.UNINIT_INT_VAL) {
       throw new IllegalStateException(
           "Cannot get lowest tag ID seen before calling refreshTagList()");
     }
 
-    return lowestTagIdSeen;
+    return snapshot.lowestTagId;
   }
 
   /**
@@ -694,13 +1363,15 @@ public class TagInfoManager {
    * @return highest tag ID seen
    */
   public static int getHighestTagIdSeen() {
+    final TagInfoSnapshot snapshot = tagInfoSnapshot;
+
     // Verify lowest tag ID seen variable is set
-    if (lowestTagIdSeen == TagConstants.UNINIT_INT_VAL) {
+    if (snapshot == null || snapshot.lowestTagId == TagConstants.UNINIT_INT_VAL) {
       throw new IllegalStateException(
           "Cannot get lowest tag ID seen before calling refreshTagList()");
     }
 
-    return highestTagIdSeen;
+    return snapshot.highestTagId;
   }
 
   /**
@@ -709,8 +1380,8 @@ public class TagInfoManager {
    *
    * @return true if tag info list populated
    */
-  public static synchronized boolean isTagInfoListPopulated() {
-    return tagInfoList != null;
+  public static boolean isTagInfoListPopulated() {
+    return tagInfoSnapshot != null;
   }
 
   /**
@@ -726,12 +1397,36 @@ public class TagInfoManager {
     SCB.setItem("LogEnabled", "1");
     SCB.setItem("LogTimer", logInterval);
     SCB.saveBlock();
+
+    // Real time logging configuration is not known, so the next configuration is always saved
+    tagLogConfigurationCache.recordSave(tagName, null);
+  }
+
+  /**
+   * Applies the specified logging configuration to the specified tag, and records it as applied.
+   * Real time logging is only written if specified by the configuration.
+   *
+   * @param tagName name of tag to modify
+   * @param configuration new logging configuration
+   * @throws EWException if unable to apply logging configuration
+   */
+  static void applyTagLogConfiguration(String tagName, TagLogConfiguration configuration)
+      throws EWException {
+    SysControlBlock SCB = new SysControlBlock(SysControlBlock.TAG, tagName);
+    SCB.setItem("LogEnabled", configuration.isHistoricalLogEnabled() ? "1" : "0");
+    SCB.setItem("LogTimer", Integer.toString(configuration.getHistoricalLogInterval()));
+    if (configuration.isRealTimeLogSpecified()) {
+      SCB.setItem("RTLogEnabled", configuration.isRealTimeLogEnabled() ? "1" : "0");
+    }
+    SCB.saveBlock();
+    tagLogConfigurationCache.recordSave(tagName, configuration);
   }
 
   /**
    * Applies the specified historical log interval to tags in the specified tag group. To reduce the
    * time waiting for this method to return, it is recommended that this method be called from a new
-   * {@link Thread}.
+   * {@link Thread}, or that {@link #applyHistoricalLogRateForTagGroupAsync(TagGroup, String)} be
+   * used instead.
    *
    * @param tagGroup tag group to modify
    * @param logInterval new historical log interval
@@ -753,4 +1448,83 @@ public class TagInfoManager {
       Thread.sleep(millisToWaitBetweenTags);
     }
   }
+
+  /**
+   * Starts a background job to apply the specified historical log interval to tags in the specified
+   * tag group, and returns without waiting for the job to finish. The returned job can be used to
+   * follow the progress of the job, wait for it to complete, or cancel it.
+   *
+   * <p>The tags in the group are determined when this method is called. Tags which already have
+   * historical logging enabled with the specified log interval are skipped. Pauses between tags are
+   * paced from the time taken to save each tag configuration. See {@link TagLogConfigurationJob}.
+   * Like {@link #applyHistoricalLogRateForTagGroup(TagGroup, String)}, only historical logging is
+   * written, and real time logging is left unchanged.
+   *
+   * @param tagGroup tag group to modify
+   * @param logInterval new historical log interval
+   * @return started log configuration job
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @throws NumberFormatException if the log interval is not an integer
+   */
+  public static TagLogConfigurationJob applyHistoricalLogRateForTagGroupAsync(
+      final TagGroup tagGroup, final String logInterval)
+      throws IllegalStateException, NumberFormatException {
+    final int historicalLogInterval = Integer.parseInt(logInterval.trim());
+
+    // Build logging configuration of each tag in group, leaving real time logging unchanged
+    final TagLogConfiguration configuration = new TagLogConfiguration(true, historicalLogInterval);
+    List tagsInGroup = getTagInfoListFiltered(tagGroup);
+    Hashtable tagLogConfigurations = new Hashtable(tagsInGroup.size() * 2 + 1);
+    for (int x = 0; x < tagsInGroup.size(); x++) {
+      TagInfo currentTagInfo = (TagInfo) tagsInGroup.get(x);
+      tagLogConfigurations.put(currentTagInfo.getName(), configuration);
+    }
+
+    return applyTagLogConfigurationsAsync(tagLogConfigurations);
+  }
+
+  /**
+   * Starts a background job to apply the specified logging configurations, and returns without
+   * waiting for the job to finish. The returned job can be used to follow the progress of the job,
+   * wait for it to complete, or cancel it.
+   *
+   * <p>Each logging configuration is compared with the tag logging configuration read by {@link
+   * #refreshTagList()}, or saved since, and only tags whose logging configuration changes are
+   * saved. The number of skipped tags is available from {@link
+   * TagLogConfigurationJob#getSkippedTagCount()}. Pauses between tags are paced from the time taken
+   * to save each tag configuration. See {@link TagLogConfigurationJob}.
+   *
+   * @param tagLogConfigurations map of tag names to their new {@link TagLogConfiguration}
+   * @return started log configuration job
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   */
+  public static TagLogConfigurationJob applyTagLogConfigurationsAsync(Map tagLogConfigurations)
+      throws IllegalStateException {
+    final TagInfoSnapshot snapshot = getTagInfoSnapshot();
+
+    // Keep only logging configurations which change the tag configuration
+    String[] tagNames = new String[tagLogConfigurations.size()];
+    TagLogConfiguration[] configurations = new TagLogConfiguration[tagNames.length];
+    int changedTagCount = 0;
+    Iterator entries = tagLogConfigurations.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry entry = (Map.Entry) entries.next();
+      final String tagName = (String) entry.getKey();
+      final TagLogConfiguration configuration = (TagLogConfiguration) entry.getValue();
+      if (!tagLogConfigurationCache.isApplied(tagName, configuration, snapshot)) {
+        tagNames[changedTagCount] = tagName;
+        configurations[changedTagCount] = configuration;
+        changedTagCount++;
+      }
+    }
+
+    // Start job on new thread
+    TagLogConfigurationJob job =
+        new TagLogConfigurationJob(
+            tagNames, configurations, changedTagCount, tagNames.length - changedTagCount);
+    job.start();
+    return job;
+  }
 }
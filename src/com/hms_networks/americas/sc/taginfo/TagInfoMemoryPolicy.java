@@ -0,0 +1,62 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class to represent the memory policy applied after a tag list refresh in a similar fashion to
+ * enums in Java 1.5+. The memory policy controls when {@link TagInfoManager#refreshTagList()}
+ * requests a garbage collection with {@link System#gc()} after the tag list has been rebuilt.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagInfoMemoryPolicy {
+
+  /** String assigned to represent the never garbage collect policy. */
+  private static final String NEVER_STR = "NEVER";
+
+  /** String assigned to represent the always garbage collect policy. */
+  private static final String ALWAYS_STR = "ALWAYS";
+
+  /** String assigned to represent the low free heap garbage collect policy. */
+  private static final String LOW_FREE_HEAP_STR = "LOW_FREE_HEAP";
+
+  /** Public instance of {@link TagInfoMemoryPolicy} to never request garbage collection. */
+  public static final TagInfoMemoryPolicy NEVER = new TagInfoMemoryPolicy(NEVER_STR);
+
+  /**
+   * Public instance of {@link TagInfoMemoryPolicy} to always request garbage collection after each
+   * tag list refresh. This matches the behavior of library versions prior to 1.3.
+   */
+  public static final TagInfoMemoryPolicy ALWAYS = new TagInfoMemoryPolicy(ALWAYS_STR);
+
+  /**
+   * Public instance of {@link TagInfoMemoryPolicy} to request garbage collection after a tag list
+   * refresh only when the free heap is below the threshold set with {@link
+   * TagInfoManager#setPostRefreshFreeHeapThreshold(long)}.
+   */
+  public static final TagInfoMemoryPolicy LOW_FREE_HEAP =
+      new TagInfoMemoryPolicy(LOW_FREE_HEAP_STR);
+
+  /** Instance memory policy string */
+  private final String policyName;
+
+  /**
+   * Private (internal) constructor for creating an instance of {@link TagInfoMemoryPolicy} with a
+   * policy name.
+   *
+   * <p>Note: Policy name shall be unique.
+   *
+   * @param policyName name to represent memory policy
+   */
+  private TagInfoMemoryPolicy(String policyName) {
+    this.policyName = policyName;
+  }
+
+  /**
+   * Get the memory policy name as a string.
+   *
+   * @return memory policy string
+   */
+  public String toString() {
+    return policyName;
+  }
+}
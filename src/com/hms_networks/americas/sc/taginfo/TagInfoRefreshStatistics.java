@@ -0,0 +1,166 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class to hold statistics about a single call to {@link TagInfoManager#refreshTagList()}.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagInfoRefreshStatistics {
+
+  /** Number of tags read from the tag list */
+  private final int tagCount;
+
+  /** Number of tag information objects reused from the previous refresh */
+  private final int reusedTagCount;
+
+  /** Number of tag name and description strings deduplicated by the string pool */
+  private final int deduplicatedStringCount;
+
+  /** Estimated number of bytes saved by deduplicated strings */
+  private final long deduplicatedStringBytesSaved;
+
+  /** Duration of the refresh in milliseconds */
+  private final long durationMillis;
+
+  /** Heap used in bytes before the refresh */
+  private final long heapUsedBeforeBytes;
+
+  /** Heap used in bytes after the refresh */
+  private final long heapUsedAfterBytes;
+
+  /** Boolean if garbage collection was requested after the refresh */
+  private final boolean garbageCollectionRequested;
+
+  /**
+   * Constructor for tag information refresh statistics.
+   *
+   * @param tagCount number of tags read from the tag list
+   * @param reusedTagCount number of tag information objects reused from the previous refresh
+   * @param deduplicatedStringCount number of strings deduplicated by the string pool
+   * @param deduplicatedStringBytesSaved estimated number of bytes saved by deduplicated strings
+   * @param durationMillis duration of the refresh in milliseconds
+   * @param heapUsedBeforeBytes heap used in bytes before the refresh
+   * @param heapUsedAfterBytes heap used in bytes after the refresh
+   * @param garbageCollectionRequested boolean if garbage collection was requested after the refresh
+   */
+  TagInfoRefreshStatistics(
+      int tagCount,
+      int reusedTagCount,
+      int deduplicatedStringCount,
+      long deduplicatedStringBytesSaved,
+      long durationMillis,
+      long heapUsedBeforeBytes,
+      long heapUsedAfterBytes,
+      boolean garbageCollectionRequested) {
+    this.tagCount = tagCount;
+    this.reusedTagCount = reusedTagCount;
+    this.deduplicatedStringCount = deduplicatedStringCount;
+    this.deduplicatedStringBytesSaved = deduplicatedStringBytesSaved;
+    this.durationMillis = durationMillis;
+    this.heapUsedBeforeBytes = heapUsedBeforeBytes;
+    this.heapUsedAfterBytes = heapUsedAfterBytes;
+    this.garbageCollectionRequested = garbageCollectionRequested;
+  }
+
+  /**
+   * Get the number of tags read from the tag list.
+   *
+   * @return tag count
+   */
+  public int getTagCount() {
+    return tagCount;
+  }
+
+  /**
+   * Get the number of tag information objects reused from the previous refresh. Tag information
+   * objects are only reused when incremental refresh is enabled with {@link
+   * TagInfoManager#enableIncrementalRefresh()}.
+   *
+   * @return reused tag count
+   */
+  public int getReusedTagCount() {
+    return reusedTagCount;
+  }
+
+  /**
+   * Get the number of tag name and description strings deduplicated by the string pool, instead of
+   * creating a new string. Strings are only deduplicated when enabled with {@link
+   * TagInfoManager#enableStringDeduplication()}.
+   *
+   * @return deduplicated string count
+   */
+  public int getDeduplicatedStringCount() {
+    return deduplicatedStringCount;
+  }
+
+  /**
+   * Get the estimated number of bytes saved by deduplicated strings, including the characters and
+   * the estimated overhead of each string object.
+   *
+   * @return estimated bytes saved by deduplicated strings
+   */
+  public long getDeduplicatedStringBytesSaved() {
+    return deduplicatedStringBytesSaved;
+  }
+
+  /**
+   * Get the duration of the refresh in milliseconds, including any requested garbage collection.
+   *
+   * @return refresh duration in milliseconds
+   */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  /**
+   * Get the heap used in bytes before the refresh.
+   *
+   * @return heap used before refresh in bytes
+   */
+  public long getHeapUsedBeforeBytes() {
+    return heapUsedBeforeBytes;
+  }
+
+  /**
+   * Get the heap used in bytes after the refresh, including any requested garbage collection.
+   *
+   * @return heap used after refresh in bytes
+   */
+  public long getHeapUsedAfterBytes() {
+    return heapUsedAfterBytes;
+  }
+
+  /**
+   * Get if garbage collection was requested after the refresh by the {@link TagInfoMemoryPolicy}.
+   *
+   * @return true if garbage collection was requested
+   */
+  public boolean isGarbageCollectionRequested() {
+    return garbageCollectionRequested;
+  }
+
+  /**
+   * Get the refresh statistics as a human-readable string.
+   *
+   * @return refresh statistics string
+   */
+  public String toString() {
+    return "Tags: "
+        + tagCount
+        + ", reused: "
+        + reusedTagCount
+        + ", deduplicated strings: "
+        + deduplicatedStringCount
+        + ", deduplicated string bytes saved: "
+        + deduplicatedStringBytesSaved
+        + ", duration: "
+        + durationMillis
+        + " ms, heap used before: "
+        + heapUsedBeforeBytes
+        + " bytes, heap used after: "
+        + heapUsedAfterBytes
+        + " bytes, garbage collection requested: "
+        + garbageCollectionRequested;
+  }
+}
@@ -0,0 +1,178 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class that holds the complete, immutable result of a single call to {@link
+ * TagInfoManager#refreshTagList()}. A snapshot is fully built before it is published, and is never
+ * modified afterwards, so readers holding a snapshot always see a consistent tag information array,
+ * tag ID range and set of indexes.
+ *
+ * <p>When only the columnar {@link TagInfoStore} is enabled, the snapshot holds the store without
+ * tag information objects or indexes, and tags are looked up by tag ID in the store.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagInfoSnapshot {
+
+  /**
+   * Tag information objects sorted by tag ID, without elements for tag ID gaps, or null if only the
+   * store is built. Only the first {@link #tagCount} elements are used.
+   */
+  final TagInfo[] tags;
+
+  /** Number of tags in the snapshot. */
+  final int tagCount;
+
+  /** The lowest tag ID in the snapshot. */
+  final int lowestTagId;
+
+  /** The highest tag ID in the snapshot. */
+  final int highestTagId;
+
+  /** Index of tag positions in {@link #tags} by tag ID, or null if only the store is built. */
+  final TagIdIndex idIndex;
+
+  /** Index of tag information objects by tag name, or null if only the store is built. */
+  final TagNameIndex nameIndex;
+
+  /** Index of tag information objects by tag group, or null if only the store is built. */
+  final TagGroupIndex groupIndex;
+
+  /**
+   * Bitset index of tag information objects, used to evaluate tag queries, or null if only the
+   * store is built.
+   */
+  final TagBitsetIndex bitsetIndex;
+
+  /** Index of tag IDs by tag type, or null if only the store is built. */
+  final TagTypeIndex typeIndex;
+
+  /** Columnar tag information store, or null if not enabled. */
+  final TagInfoStore store;
+
+  /** Sequence number of the tag list refresh that built the snapshot. */
+  final int refreshSequence;
+
+  /**
+   * Tag information array indexed by tag ID with an offset of {@link #lowestTagId}, or null if not
+   * yet created by {@link #getTagInfoArray()}.
+   */
+  private volatile TagInfo[] tagInfoArray;
+
+  /**
+   * Constructor for a tag information snapshot.
+   *
+   * @param tags tag information objects sorted by tag ID, or null if only the store is built
+   * @param tagCount number of tags
+   * @param lowestTagId lowest tag ID
+   * @param highestTagId highest tag ID
+   * @param idIndex index of tag positions by tag ID
+   * @param nameIndex index of tag information objects by tag name
+   * @param groupIndex index of tag information objects by tag group
+   * @param bitsetIndex bitset index of tag information objects
+   * @param typeIndex index of tag IDs by tag type
+   * @param store columnar tag information store, or null if not enabled
+   * @param refreshSequence sequence number of the tag list refresh that built the snapshot
+   */
+  TagInfoSnapshot(
+      TagInfo[] tags,
+      int tagCount,
+      int lowestTagId,
+      int highestTagId,
+      TagIdIndex idIndex,
+      TagNameIndex nameIndex,
+      TagGroupIndex groupIndex,
+      TagBitsetIndex bitsetIndex,
+      TagTypeIndex typeIndex,
+      TagInfoStore store,
+      int refreshSequence) {
+    this.tags = tags;
+    this.tagCount = tagCount;
+    this.lowestTagId = lowestTagId;
+    this.highestTagId = highestTagId;
+    this.idIndex = idIndex;
+    this.nameIndex = nameIndex;
+    this.groupIndex = groupIndex;
+    this.bitsetIndex = bitsetIndex;
+    this.typeIndex = typeIndex;
+    this.store = store;
+    this.refreshSequence = refreshSequence;
+  }
+
+  /**
+   * Gets the tag information object with the specified tag ID. If only the store is built, a new
+   * {@link TagInfo} view of the tag is created by each call.
+   *
+   * @throws IndexOutOfBoundsException when the tag ID is outside of the snapshot tag ID range
+   * @param tagId tag ID
+   * @return tag information object, or null if no tag has the specified tag ID
+   */
+  TagInfo getTagInfo(int tagId) throws IndexOutOfBoundsException {
+    if (tags == null) {
+      final int index = getStoreIndex(tagId);
+      return index == -1 ? null : store.getTagInfo(index);
+    }
+
+    final int position = idIndex.getPosition(tagId);
+    return position == TagIdIndex.NO_POSITION ? null : tags[position];
+  }
+
+  /**
+   * Gets the tag type of the tag with the specified tag ID, without creating a {@link TagInfo} view
+   * if only the store is built.
+   *
+   * @throws IndexOutOfBoundsException when the tag ID is outside of the snapshot tag ID range
+   * @param tagId tag ID
+   * @return tag type, or null if no tag has the specified tag ID or its tag type is unknown
+   */
+  TagType getTagType(int tagId) throws IndexOutOfBoundsException {
+    if (tags == null) {
+      final int index = getStoreIndex(tagId);
+      return index == -1 ? null : store.getType(index);
+    }
+
+    final TagInfo tagInfo = getTagInfo(tagId);
+    return tagInfo != null ? tagInfo.getType() : null;
+  }
+
+  /**
+   * Gets the store index of the tag with the specified tag ID.
+   *
+   * @throws IndexOutOfBoundsException when the tag ID is outside of the snapshot tag ID range
+   * @param tagId tag ID
+   * @return store index, or -1 if no tag has the specified tag ID
+   */
+  private int getStoreIndex(int tagId) throws IndexOutOfBoundsException {
+    if (tagCount == 0 || tagId < lowestTagId || tagId > highestTagId) {
+      throw new IndexOutOfBoundsException(
+          "Tag ID " + tagId + " is outside of the tag ID range of the tag information store.");
+    }
+    return store.indexOf(tagId);
+  }
+
+  /**
+   * Gets the tag information array indexed by tag ID with an offset of {@link #lowestTagId}, with
+   * null elements for tag IDs without a tag. When tag IDs have no gaps, the sorted tag array is
+   * returned directly. Otherwise, the array is created by the first call and reused afterwards. The
+   * returned array is shared, and must not be modified or exposed to callers as modifiable.
+   *
+   * @return tag information array indexed by tag ID
+   */
+  TagInfo[] getTagInfoArray() {
+    if (tagCount == 0 || idIndex.getTagIdRange() == tagCount) {
+      return tags;
+    }
+
+    TagInfo[] array = tagInfoArray;
+    if (array == null) {
+      // Concurrent readers may each create the same array, which is harmless as the arrays are
+      // equal
+      array = new TagInfo[idIndex.getTagIdRange()];
+      for (int i = 0; i < tagCount; i++) {
+        array[tags[i].getId() - lowestTagId] = tags[i];
+      }
+      tagInfoArray = array;
+    }
+    return array;
+  }
+}
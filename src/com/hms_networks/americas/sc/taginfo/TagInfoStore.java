@@ -0,0 +1,496 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.util.Arrays;
+
+/**
+ * Class that stores tag information in columnar form, using parallel primitive arrays instead of
+ * one {@link TagInfo} object per tag. Tag names and descriptions are stored as bytes in shared
+ * pools and addressed by offset.
+ *
+ * <p>Tags are addressed by a store index from 0 to {@link #size()} - 1, in order of tag ID.
+ * Iterating the store by index with the primitive accessors does not create any per-tag objects.
+ * {@link TagInfo} views are only created by {@link #getTagInfo(int)}, and strings are only created
+ * by {@link #getName(int)} and {@link #getDescription(int)}.
+ *
+ * <p>A new store is built by each call to {@link TagInfoManager#refreshTagList()} when enabled with
+ * {@link TagInfoManager#enableTagInfoStore()}. The store is filled directly from the parsed tag
+ * list lines, copying the name and description bytes of each line into its pools. When enabled with
+ * {@link TagInfoManager#enableTagInfoStoreOnly()}, the store replaces the tag information list, and
+ * no {@link TagInfo} objects are kept. A tag information store is immutable once built.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagInfoStore {
+
+  /** Type code stored for tags with an unknown {@link TagType}. */
+  private static final byte UNKNOWN_TYPE_CODE = -1;
+
+  /** Initial number of name pool bytes for each tag of the store capacity. */
+  private static final int INITIAL_NAME_BYTES_PER_TAG = 16;
+
+  /** Initial number of description pool bytes for each tag of the store capacity. */
+  private static final int INITIAL_DESCRIPTION_BYTES_PER_TAG = 8;
+
+  /** Number of tags in the store. */
+  private int size;
+
+  /** Boolean if the tags added so far have been in order of tag ID. */
+  private boolean sorted = true;
+
+  /** Tag IDs, indexed by store index. */
+  private int[] ids;
+
+  /** Ewon tag type integers, indexed by store index. */
+  private byte[] typeCodes;
+
+  /** Packed tag group and logging flags, indexed by store index. */
+  private int[] flags;
+
+  /** Historical log intervals, indexed by store index. */
+  private int[] historicalLogIntervals;
+
+  /** Shared pool of tag name bytes. */
+  private byte[] namePool;
+
+  /** Number of bytes used in the name pool. */
+  private int namePoolSize;
+
+  /** Offsets of each tag name in the name pool, with an extra end offset after the last tag. */
+  private int[] nameOffsets;
+
+  /** Shared pool of tag description bytes. */
+  private byte[] descriptionPool;
+
+  /** Number of bytes used in the description pool. */
+  private int descriptionPoolSize;
+
+  /**
+   * Offsets of each tag description in the description pool, with an extra end offset after the
+   * last tag.
+   */
+  private int[] descriptionOffsets;
+
+  /**
+   * Int to string enumeration mappings, indexed by store index, or null if the store contains no
+   * enumerated tags.
+   */
+  private TagEnumMapping[] enumeratedStringValueMappings;
+
+  /**
+   * Constructor for an empty tag information store with room for the specified number of tags. Tags
+   * are added with {@link #add(int, byte[], int, int, byte[], int, int, int, int, TagType,
+   * TagEnumMapping)} or {@link #add(TagInfo)}, and the store must be completed with {@link
+   * #finish()} before it is read.
+   *
+   * @param capacity maximum number of tags
+   */
+  TagInfoStore(int capacity) {
+    ids = new int[capacity];
+    typeCodes = new byte[capacity];
+    flags = new int[capacity];
+    historicalLogIntervals = new int[capacity];
+    namePool = new byte[capacity * INITIAL_NAME_BYTES_PER_TAG];
+    nameOffsets = new int[capacity + 1];
+    descriptionPool = new byte[capacity * INITIAL_DESCRIPTION_BYTES_PER_TAG];
+    descriptionOffsets = new int[capacity + 1];
+  }
+
+  /**
+   * Adds a tag to the store, copying its name and description bytes into the store pools.
+   *
+   * @param id tag ID
+   * @param nameBytes buffer containing the tag name bytes
+   * @param nameOffset offset of the tag name in the name buffer
+   * @param nameLength number of tag name bytes
+   * @param descriptionBytes buffer containing the tag description bytes
+   * @param descriptionOffset offset of the tag description in the description buffer
+   * @param descriptionLength number of tag description bytes
+   * @param tagFlags packed tag flags
+   * @param historicalLogInterval historical log interval, or {@link TagConstants#UNINIT_INT_VAL} if
+   *     unknown
+   * @param type tag type, or null if unknown
+   * @param enumMapping int to string enumeration mapping, or null if the tag is not enumerated
+   */
+  void add(
+      int id,
+      byte[] nameBytes,
+      int nameOffset,
+      int nameLength,
+      byte[] descriptionBytes,
+      int descriptionOffset,
+      int descriptionLength,
+      int tagFlags,
+      int historicalLogInterval,
+      TagType type,
+      TagEnumMapping enumMapping) {
+    if (size > 0 && id < ids[size - 1]) {
+      sorted = false;
+    }
+
+    ids[size] = id;
+    typeCodes[size] = type != null ? (byte) type.getTypeInt() : UNKNOWN_TYPE_CODE;
+    flags[size] = tagFlags;
+    historicalLogIntervals[size] = historicalLogInterval;
+
+    // Copy name and description bytes into pools
+    if (namePoolSize + nameLength > namePool.length) {
+      namePool = grow(namePool, namePoolSize + nameLength);
+    }
+    System.arraycopy(nameBytes, nameOffset, namePool, namePoolSize, nameLength);
+    nameOffsets[size] = namePoolSize;
+    namePoolSize += nameLength;
+
+    if (descriptionPoolSize + descriptionLength > descriptionPool.length) {
+      descriptionPool = grow(descriptionPool, descriptionPoolSize + descriptionLength);
+    }
+    System.arraycopy(
+        descriptionBytes,
+        descriptionOffset,
+        descriptionPool,
+        descriptionPoolSize,
+        descriptionLength);
+    descriptionOffsets[size] = descriptionPoolSize;
+    descriptionPoolSize += descriptionLength;
+
+    if (enumMapping != null) {
+      if (enumeratedStringValueMappings == null) {
+        enumeratedStringValueMappings = new TagEnumMapping[ids.length];
+      }
+      enumeratedStringValueMappings[size] = enumMapping;
+    }
+    size++;
+  }
+
+  /**
+   * Adds the tag of the specified tag information object to the store. Lazy tag description bytes
+   * are copied without creating a {@link String}.
+   *
+   * @param tagInfo tag information object
+   */
+  void add(TagInfo tagInfo) {
+    final byte[] nameBytes = tagInfo.getName().getBytes();
+    final byte[] descriptionBytes = tagInfo.getDescriptionBytes();
+    add(
+        tagInfo.getId(),
+        nameBytes,
+        0,
+        nameBytes.length,
+        descriptionBytes,
+        0,
+        descriptionBytes.length,
+        tagInfo.getFlags(),
+        tagInfo.getHistoricalLogInterval(),
+        tagInfo.getType(),
+        tagInfo instanceof TagInfoEnumeratedIntToString
+            ? ((TagInfoEnumeratedIntToString) tagInfo).getEnumMapping()
+            : null);
+  }
+
+  /**
+   * Completes the store once all tags have been added. Tags are sorted by tag ID if they were not
+   * added in order, and the columns and pools are trimmed to the number of tags and bytes used.
+   */
+  void finish() {
+    // Find store order of tags, sorting by tag ID if the tags were not added in order
+    int[] order = null;
+    if (!sorted) {
+      final long[] sortedIdIndices = new long[size];
+      for (int index = 0; index < size; index++) {
+        sortedIdIndices[index] = ((long) ids[index] << 32) | index;
+      }
+      Arrays.sort(sortedIdIndices);
+      order = new int[size];
+      for (int index = 0; index < size; index++) {
+        order[index] = (int) sortedIdIndices[index];
+      }
+    }
+
+    // Copy columns and pools in store order into trimmed arrays
+    final int[] finishedIds = new int[size];
+    final byte[] finishedTypeCodes = new byte[size];
+    final int[] finishedFlags = new int[size];
+    final int[] finishedHistoricalLogIntervals = new int[size];
+    final byte[] finishedNamePool = new byte[namePoolSize];
+    final int[] finishedNameOffsets = new int[size + 1];
+    final byte[] finishedDescriptionPool = new byte[descriptionPoolSize];
+    final int[] finishedDescriptionOffsets = new int[size + 1];
+    final TagEnumMapping[] finishedEnumeratedStringValueMappings =
+        enumeratedStringValueMappings != null ? new TagEnumMapping[size] : null;
+    nameOffsets[size] = namePoolSize;
+    descriptionOffsets[size] = descriptionPoolSize;
+    int nameOffset = 0;
+    int descriptionOffset = 0;
+    for (int index = 0; index < size; index++) {
+      final int source = order != null ? order[index] : index;
+      finishedIds[index] = ids[source];
+      finishedTypeCodes[index] = typeCodes[source];
+      finishedFlags[index] = flags[source];
+      finishedHistoricalLogIntervals[index] = historicalLogIntervals[source];
+
+      final int nameLength = nameOffsets[source + 1] - nameOffsets[source];
+      System.arraycopy(namePool, nameOffsets[source], finishedNamePool, nameOffset, nameLength);
+      finishedNameOffsets[index] = nameOffset;
+      nameOffset += nameLength;
+
+      final int descriptionLength = descriptionOffsets[source + 1] - descriptionOffsets[source];
+      System.arraycopy(
+          descriptionPool,
+          descriptionOffsets[source],
+          finishedDescriptionPool,
+          descriptionOffset,
+          descriptionLength);
+      finishedDescriptionOffsets[index] = descriptionOffset;
+      descriptionOffset += descriptionLength;
+
+      if (finishedEnumeratedStringValueMappings != null) {
+        finishedEnumeratedStringValueMappings[index] = enumeratedStringValueMappings[source];
+      }
+    }
+    finishedNameOffsets[size] = nameOffset;
+    finishedDescriptionOffsets[size] = descriptionOffset;
+
+    ids = finishedIds;
+    typeCodes = finishedTypeCodes;
+    flags = finishedFlags;
+    historicalLogIntervals = finishedHistoricalLogIntervals;
+    namePool = finishedNamePool;
+    nameOffsets = finishedNameOffsets;
+    descriptionPool = finishedDescriptionPool;
+    descriptionOffsets = finishedDescriptionOffsets;
+    enumeratedStringValueMappings = finishedEnumeratedStringValueMappings;
+    sorted = true;
+  }
+
+  /**
+   * Creates a copy of the specified pool with room for at least the specified number of bytes.
+   *
+   * @param pool pool to grow
+   * @param minimumLength minimum length of the new pool
+   * @return grown pool
+   */
+  private static byte[] grow(byte[] pool, int minimumLength) {
+    final byte[] grownPool = new byte[Math.max(pool.length * 2, minimumLength)];
+    System.arraycopy(pool, 0, grownPool, 0, pool.length);
+    return grownPool;
+  }
+
+  /**
+   * Gets the number of tags in the store.
+   *
+   * @return number of tags
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the store index of the tag with the specified tag ID, using a binary search of the tag
+   * IDs.
+   *
+   * @param tagId tag ID
+   * @return store index, or -1 if no tag has the specified tag ID
+   */
+  public int indexOf(int tagId) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int midTagId = ids[mid];
+      if (midTagId < tagId) {
+        low = mid + 1;
+      } else if (midTagId > tagId) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the tag ID of the tag at the specified store index.
+   *
+   * @param index store index
+   * @return tag ID
+   */
+  public int getId(int index) {
+    return ids[index];
+  }
+
+  /**
+   * Gets the tag type of the tag at the specified store index.
+   *
+   * @param index store index
+   * @return tag type, or null if the tag type is unknown
+   */
+  public TagType getType(int index) {
+    return typeCodes[index] == UNKNOWN_TYPE_CODE
+        ? null
+        : TagType.getTagTypeFromInt(typeCodes[index]);
+  }
+
+  /**
+   * Gets if historical logging is enabled for the tag at the specified store index.
+   *
+   * @param index store index
+   * @return true if historical logging enabled
+   */
+  public boolean isHistoricalLogEnabled(int index) {
+    return (flags[index] & TagInfo.HISTORICAL_LOG_ENABLED_MASK) != 0;
+  }
+
+  /**
+   * Gets if real time logging is enabled for the tag at the specified store index.
+   *
+   * @param index store index
+   * @return true if real time logging enabled
+   */
+  public boolean isRealTimeLogEnabled(int index) {
+    return (flags[index] & TagInfo.REAL_TIME_LOG_ENABLED_MASK) != 0;
+  }
+
+  /**
+   * Gets the historical log interval of the tag at the specified store index.
+   *
+   * @param index store index
+   * @return historical log interval, or {@link TagConstants#UNINIT_INT_VAL} if unknown
+   */
+  public int getHistoricalLogInterval(int index) {
+    return historicalLogIntervals[index];
+  }
+
+  /**
+   * Gets if the tag at the specified store index is in the specified tag group.
+   *
+   * @param index store index
+   * @param tagGroup tag group
+   * @return true if tag is in the tag group
+   */
+  public boolean isInGroup(int index, TagGroup tagGroup) {
+    return (flags[index] & tagGroup.getMask()) != 0;
+  }
+
+  /**
+   * Gets the combined bit mask of the groups of the tag at the specified store index.
+   *
+   * @param index store index
+   * @return tag group bit mask
+   */
+  public int getGroupMask(int index) {
+    return flags[index] & TagGroup.ALL_GROUPS_MASK;
+  }
+
+  /**
+   * Gets the packed tag group and logging flags of the tag at the specified store index.
+   *
+   * @param index store index
+   * @return packed tag flags
+   */
+  int getFlags(int index) {
+    return flags[index];
+  }
+
+  /**
+   * Gets if the name of the tag at the specified store index is equal to the specified name. Names
+   * of ASCII characters are compared without creating any objects.
+   *
+   * @param index store index
+   * @param name name to compare
+   * @return true if the tag name is equal to the specified name
+   */
+  public boolean nameEquals(int index, String name) {
+    final int offset = nameOffsets[index];
+    final int length = nameOffsets[index + 1] - offset;
+
+    // Compare ASCII bytes with name characters, until the end or a non-ASCII byte
+    boolean ascii = true;
+    if (name.length() == length) {
+      for (int i = 0; i < length; i++) {
+        final byte nameByte = namePool[offset + i];
+        if (nameByte < 0) {
+          ascii = false;
+          break;
+        } else if (nameByte != name.charAt(i)) {
+          return false;
+        }
+      }
+      if (ascii) {
+        return true;
+      }
+    } else {
+      for (int i = 0; i < length && ascii; i++) {
+        ascii = namePool[offset + i] >= 0;
+      }
+      if (ascii) {
+        return false;
+      }
+    }
+
+    // Compare decoded name for names with non-ASCII bytes
+    return getName(index).equals(name);
+  }
+
+  /**
+   * Gets the name of the tag at the specified store index. A new {@link String} is created by each
+   * call.
+   *
+   * @param index store index
+   * @return tag name
+   */
+  public String getName(int index) {
+    final int offset = nameOffsets[index];
+    return new String(namePool, offset, nameOffsets[index + 1] - offset);
+  }
+
+  /**
+   * Gets the description of the tag at the specified store index. A new {@link String} is created
+   * by each call.
+   *
+   * @param index store index
+   * @return tag description
+   */
+  public String getDescription(int index) {
+    final int offset = descriptionOffsets[index];
+    return new String(descriptionPool, offset, descriptionOffsets[index + 1] - offset);
+  }
+
+  /**
+   * Gets a {@link TagInfo} view of the tag at the specified store index. A new view is created by
+   * each call, with a copy of the description bytes which are only converted to a {@link String}
+   * when {@link TagInfo#getDescription()} is called. Tags with int to string enumerations are
+   * returned as {@link TagInfoEnumeratedIntToString} views.
+   *
+   * @param index store index
+   * @return tag information view
+   */
+  public TagInfo getTagInfo(int index) {
+    // Copy description bytes for lazy tag description
+    final int descriptionOffset = descriptionOffsets[index];
+    final int descriptionLength = descriptionOffsets[index + 1] - descriptionOffset;
+    Object description = "";
+    if (descriptionLength > 0) {
+      final byte[] descriptionBytes = new byte[descriptionLength];
+      System.arraycopy(descriptionPool, descriptionOffset, descriptionBytes, 0, descriptionLength);
+      description = descriptionBytes;
+    }
+
+    if (enumeratedStringValueMappings != null && enumeratedStringValueMappings[index] != null) {
+      return new TagInfoEnumeratedIntToString(
+          ids[index],
+          getName(index),
+          description,
+          flags[index],
+          historicalLogIntervals[index],
+          getType(index),
+          enumeratedStringValueMappings[index]);
+    }
+    return new TagInfo(
+        ids[index],
+        getName(index),
+        description,
+        flags[index],
+        historicalLogIntervals[index],
+        getType(index));
+  }
+}
@@ -0,0 +1,20 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Interface for visiting the tags matching a {@link TagQuery} with {@link
+ * TagInfoManager#forEachTag(TagQuery, TagInfoVisitor)}. Matching tags are passed to the visitor one
+ * at a time, in ascending tag ID order, without building an intermediate list.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public interface TagInfoVisitor {
+
+  /**
+   * Visits a tag matching the query.
+   *
+   * @param tagInfo tag information object of the matching tag
+   * @return true to continue visiting matching tags, or false to stop
+   */
+  boolean visitTag(TagInfo tagInfo);
+}
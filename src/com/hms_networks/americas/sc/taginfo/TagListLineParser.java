@@ -0,0 +1,324 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class that parses a single line of the tag list (var_lst) export block descriptor directly from
+ * its bytes. Columns are located with a quote-aware scan of the line, and only the columns used by
+ * the tag information library are decoded. Integer and boolean columns are parsed in place, and the
+ * name and description columns are recorded as offsets into the line so that {@link String} objects
+ * are only created for those two columns.
+ *
+ * <p>A single parser instance is reused for every line of an export. Results of the last call to
+ * {@link #parse(byte[], int)} are available through the package-private fields of this class.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagListLineParser {
+
+  /*
+   * Column indices
+   * index 0 - tag ID
+   * index 1 - name
+   * index 2 - description
+   * index 8 - historical logging enabled
+   * index 15 - real time logging enabled
+   * index 25 - in tag group A
+   * index 26 - in tag group B
+   * index 27 - in tag group C
+   * index 28 - in tag group D
+   * index 33 - historical log interval
+   * index 55 - tag type
+   */
+  /** Column index of the tag ID. */
+  private static final int INDEX_TAG_ID = 0;
+
+  /** Column index of the tag name. */
+  private static final int INDEX_NAME = 1;
+
+  /** Column index of the tag description. */
+  private static final int INDEX_DESCRIPTION = 2;
+
+  /** Column index of the historical logging enabled flag. */
+  private static final int INDEX_HISTORICAL_LOGGING = 8;
+
+  /** Column index of the real time logging enabled flag. */
+  private static final int INDEX_REAL_TIME_LOGGING = 15;
+
+  /** Column index of the tag group A flag. */
+  private static final int INDEX_GROUP_A = 25;
+
+  /** Column index of the tag group B flag. */
+  private static final int INDEX_GROUP_B = 26;
+
+  /** Column index of the tag group C flag. */
+  private static final int INDEX_GROUP_C = 27;
+
+  /** Column index of the tag group D flag. */
+  private static final int INDEX_GROUP_D = 28;
+
+  /** Column index of the historical log interval. */
+  private static final int INDEX_HISTORICAL_LOG_INTERVAL = 33;
+
+  /** Column index of the tag type. */
+  private static final int INDEX_TYPE = 55;
+
+  /** Column delimiter used in EBD lines. */
+  private static final byte COLUMN_DELIMITER = ';';
+
+  /** Quote character used in EBD lines. */
+  private static final byte QUOTE = '"';
+
+  /** Offset basis of the 64-bit FNV-1a hash used for line fingerprints. */
+  private static final long FINGERPRINT_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  /** Prime of the 64-bit FNV-1a hash used for line fingerprints. */
+  private static final long FINGERPRINT_PRIME = 0x100000001b3L;
+
+  /** Column indices to locate in each line, in ascending order. */
+  private static final int[] PARSED_COLUMN_INDICES = {
+    INDEX_TAG_ID,
+    INDEX_NAME,
+    INDEX_DESCRIPTION,
+    INDEX_HISTORICAL_LOGGING,
+    INDEX_REAL_TIME_LOGGING,
+    INDEX_GROUP_A,
+    INDEX_GROUP_B,
+    INDEX_GROUP_C,
+    INDEX_GROUP_D,
+    INDEX_HISTORICAL_LOG_INTERVAL,
+    INDEX_TYPE
+  };
+
+  /** Tag ID parsed from the last line. */
+  int tagId;
+
+  /** Ewon tag type integer parsed from the last line. */
+  int tagType;
+
+  /** Historical logging enabled flag parsed from the last line. */
+  boolean historicalLoggingEnabled;
+
+  /** Real time logging enabled flag parsed from the last line. */
+  boolean realTimeLoggingEnabled;
+
+  /**
+   * Historical log interval parsed from the last line, or {@link TagConstants#UNINIT_INT_VAL} if
+   * the column is not an integer.
+   */
+  int historicalLogInterval;
+
+  /** Tag group A flag parsed from the last line. */
+  boolean inGroupA;
+
+  /** Tag group B flag parsed from the last line. */
+  boolean inGroupB;
+
+  /** Tag group C flag parsed from the last line. */
+  boolean inGroupC;
+
+  /** Tag group D flag parsed from the last line. */
+  boolean inGroupD;
+
+  /** Offset in the line of the tag name, excluding quotes. */
+  int nameOffset;
+
+  /** Length in bytes of the tag name, excluding quotes. */
+  int nameLength;
+
+  /** Offset in the line of the tag description, excluding quotes. */
+  int descriptionOffset;
+
+  /** Length in bytes of the tag description, excluding quotes. */
+  int descriptionLength;
+
+  /** Start offsets of the located columns, in the order of {@link #PARSED_COLUMN_INDICES}. */
+  private final int[] columnStarts = new int[PARSED_COLUMN_INDICES.length];
+
+  /** End offsets of the located columns, in the order of {@link #PARSED_COLUMN_INDICES}. */
+  private final int[] columnEnds = new int[PARSED_COLUMN_INDICES.length];
+
+  /**
+   * Parses the specified tag list line. If the line does not contain all columns up to and
+   * including the tag type, the line is not a complete tag entry and false is returned.
+   *
+   * @param line buffer containing the line bytes
+   * @param length number of valid bytes in the line buffer
+   * @return true if the line contained a complete tag entry
+   * @throws NumberFormatException if the tag ID or tag type column is not an integer
+   */
+  boolean parse(byte[] line, int length) {
+    if (!locateColumns(line, length)) {
+      return false;
+    }
+
+    int column = 0;
+    tagId = parseInt(line, columnStarts[column], columnEnds[column]);
+    column++;
+    nameOffset = unquotedOffset(columnStarts[column], columnEnds[column]);
+    nameLength = unquotedLength(columnStarts[column], columnEnds[column]);
+    column++;
+    descriptionOffset = unquotedOffset(columnStarts[column], columnEnds[column]);
+    descriptionLength = unquotedLength(columnStarts[column], columnEnds[column]);
+    column++;
+    historicalLoggingEnabled = parseBool(line, columnStarts[column], columnEnds[column]);
+    column++;
+    realTimeLoggingEnabled = parseBool(line, columnStarts[column], columnEnds[column]);
+    column++;
+    inGroupA = parseBool(line, columnStarts[column], columnEnds[column]);
+    column++;
+    inGroupB = parseBool(line, columnStarts[column], columnEnds[column]);
+    column++;
+    inGroupC = parseBool(line, columnStarts[column], columnEnds[column]);
+    column++;
+    inGroupD = parseBool(line, columnStarts[column], columnEnds[column]);
+    column++;
+    try {
+      historicalLogInterval = parseInt(line, columnStarts[column], columnEnds[column]);
+    } catch (NumberFormatException e) {
+      historicalLogInterval = TagConstants.UNINIT_INT_VAL;
+    }
+    column++;
+    tagType = parseInt(line, columnStarts[column], columnEnds[column]);
+    return true;
+  }
+
+  /**
+   * Computes a 64-bit fingerprint of the columns located by the last successful call to {@link
+   * #parse(byte[], int)}. Lines with equal parsed columns have equal fingerprints, and lines with
+   * any differing parsed column have different fingerprints with very high probability.
+   *
+   * @param line buffer containing the line bytes passed to {@link #parse(byte[], int)}
+   * @return fingerprint of the parsed columns
+   */
+  long fingerprint(byte[] line) {
+    // 64-bit FNV-1a hash of each column's length and bytes
+    long hash = FINGERPRINT_OFFSET_BASIS;
+    for (int column = 0; column < PARSED_COLUMN_INDICES.length; column++) {
+      final int columnStart = columnStarts[column];
+      final int columnEnd = columnEnds[column];
+      hash = (hash ^ (columnEnd - columnStart)) * FINGERPRINT_PRIME;
+      for (int position = columnStart; position < columnEnd; position++) {
+        hash = (hash ^ (line[position] & 0xFF)) * FINGERPRINT_PRIME;
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Locates the start and end offsets of each column in {@link #PARSED_COLUMN_INDICES} with a
+   * single scan of the line. Delimiters inside quotes are not treated as column boundaries, and
+   * scanning stops once the last needed column has been located.
+   *
+   * @param line buffer containing the line bytes
+   * @param length number of valid bytes in the line buffer
+   * @return true if all needed columns were located
+   */
+  private boolean locateColumns(byte[] line, int length) {
+    int located = 0;
+    int columnIndex = 0;
+    boolean inQuotes = false;
+
+    if (PARSED_COLUMN_INDICES[located] == columnIndex) {
+      columnStarts[located] = 0;
+    }
+
+    for (int position = 0; position < length; position++) {
+      final byte currentByte = line[position];
+      if (currentByte == QUOTE) {
+        inQuotes = !inQuotes;
+      } else if (currentByte == COLUMN_DELIMITER && !inQuotes) {
+        // Record end of current column if needed
+        if (PARSED_COLUMN_INDICES[located] == columnIndex) {
+          columnEnds[located] = position;
+          located++;
+          if (located == PARSED_COLUMN_INDICES.length) {
+            return true;
+          }
+        }
+
+        // Record start of next column if needed
+        columnIndex++;
+        if (PARSED_COLUMN_INDICES[located] == columnIndex) {
+          columnStarts[located] = position + 1;
+        }
+      }
+    }
+
+    // Last needed column may end at the end of the line
+    if (located == PARSED_COLUMN_INDICES.length - 1
+        && PARSED_COLUMN_INDICES[located] == columnIndex
+        && length > 0) {
+      columnEnds[located] = length;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Gets the offset of a quoted column with its surrounding quotes removed.
+   *
+   * @param columnStart offset of the first byte of the column
+   * @param columnEnd offset after the last byte of the column
+   * @return offset of the column value without quotes
+   */
+  private static int unquotedOffset(int columnStart, int columnEnd) {
+    return columnEnd - columnStart < 2 ? columnStart : columnStart + 1;
+  }
+
+  /**
+   * Gets the length of a quoted column with its surrounding quotes removed.
+   *
+   * @param columnStart offset of the first byte of the column
+   * @param columnEnd offset after the last byte of the column
+   * @return length of the column value without quotes
+   */
+  private static int unquotedLength(int columnStart, int columnEnd) {
+    return columnEnd - columnStart < 2 ? 0 : columnEnd - columnStart - 2;
+  }
+
+  /**
+   * Parses a string boolean ("0"/"1") column to boolean.
+   *
+   * @param line buffer containing the line bytes
+   * @param columnStart offset of the first byte of the column
+   * @param columnEnd offset after the last byte of the column
+   * @return true if the column is exactly "1"
+   */
+  private static boolean parseBool(byte[] line, int columnStart, int columnEnd) {
+    return columnEnd - columnStart == 1 && line[columnStart] == '1';
+  }
+
+  /**
+   * Parses a decimal integer column without creating a {@link String}.
+   *
+   * @param line buffer containing the line bytes
+   * @param columnStart offset of the first byte of the column
+   * @param columnEnd offset after the last byte of the column
+   * @return parsed integer
+   * @throws NumberFormatException if the column is not a decimal integer
+   */
+  static int parseInt(byte[] line, int columnStart, int columnEnd) {
+    int position = columnStart;
+    boolean negative = false;
+    if (position < columnEnd && (line[position] == '-' || line[position] == '+')) {
+      negative = line[position] == '-';
+      position++;
+    }
+    if (position >= columnEnd) {
+      throw new NumberFormatException(
+          "For input string: \"" + new String(line, columnStart, columnEnd - columnStart) + "\"");
+    }
+
+    int result = 0;
+    while (position < columnEnd) {
+      final int digit = line[position] - '0';
+      if (digit < 0 || digit > 9) {
+        throw new NumberFormatException(
+            "For input string: \"" + new String(line, columnStart, columnEnd - columnStart) + "\"");
+      }
+      result = result * 10 + digit;
+      position++;
+    }
+    return negative ? -result : result;
+  }
+}
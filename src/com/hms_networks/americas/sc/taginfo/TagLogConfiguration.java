@@ -0,0 +1,147 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class to hold the logging configuration of a tag, as applied by {@link
+ * TagInfoManager#applyTagLogConfigurationsAsync(java.util.Map)}. A configuration may leave real
+ * time logging unspecified, in which case the real time logging setting of the tag is not changed.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagLogConfiguration {
+
+  /** Boolean if historical logging enabled */
+  private final boolean historicalLogEnabled;
+
+  /** Historical log interval */
+  private final int historicalLogInterval;
+
+  /** Boolean if real time logging enabled */
+  private final boolean realTimeLogEnabled;
+
+  /** Boolean if real time logging is specified, or left unchanged when applied */
+  private final boolean realTimeLogSpecified;
+
+  /**
+   * Constructor for a tag logging configuration which leaves real time logging unchanged when
+   * applied.
+   *
+   * @param historicalLogEnabled boolean if historical logging enabled
+   * @param historicalLogInterval historical log interval
+   */
+  public TagLogConfiguration(boolean historicalLogEnabled, int historicalLogInterval) {
+    this.historicalLogEnabled = historicalLogEnabled;
+    this.historicalLogInterval = historicalLogInterval;
+    this.realTimeLogEnabled = false;
+    this.realTimeLogSpecified = false;
+  }
+
+  /**
+   * Constructor for a tag logging configuration.
+   *
+   * @param historicalLogEnabled boolean if historical logging enabled
+   * @param historicalLogInterval historical log interval
+   * @param realTimeLogEnabled boolean if real time logging enabled
+   */
+  public TagLogConfiguration(
+      boolean historicalLogEnabled, int historicalLogInterval, boolean realTimeLogEnabled) {
+    this.historicalLogEnabled = historicalLogEnabled;
+    this.historicalLogInterval = historicalLogInterval;
+    this.realTimeLogEnabled = realTimeLogEnabled;
+    this.realTimeLogSpecified = true;
+  }
+
+  /**
+   * Get if historical logging is enabled.
+   *
+   * @return true if historical logging enabled
+   */
+  public boolean isHistoricalLogEnabled() {
+    return historicalLogEnabled;
+  }
+
+  /**
+   * Get the historical log interval.
+   *
+   * @return historical log interval
+   */
+  public int getHistoricalLogInterval() {
+    return historicalLogInterval;
+  }
+
+  /**
+   * Get if real time logging is enabled. Only meaningful if {@link #isRealTimeLogSpecified()}.
+   *
+   * @return true if real time logging enabled
+   */
+  public boolean isRealTimeLogEnabled() {
+    return realTimeLogEnabled;
+  }
+
+  /**
+   * Get if real time logging is specified. If not, the real time logging setting of the tag is left
+   * unchanged when this configuration is applied.
+   *
+   * @return true if real time logging specified
+   */
+  public boolean isRealTimeLogSpecified() {
+    return realTimeLogSpecified;
+  }
+
+  /**
+   * Gets if the logging configuration of the specified tag, as read from the tag list, is equal to
+   * this logging configuration. Real time logging is only compared if specified.
+   *
+   * @param tagInfo tag information object
+   * @return true if the tag has this logging configuration
+   */
+  boolean matches(TagInfo tagInfo) {
+    return tagInfo.isHistoricalLogEnabled() == historicalLogEnabled
+        && tagInfo.getHistoricalLogInterval() == historicalLogInterval
+        && (!realTimeLogSpecified || tagInfo.isRealTimeLogEnabled() == realTimeLogEnabled);
+  }
+
+  /**
+   * Gets if the specified object is a tag logging configuration equal to this logging
+   * configuration.
+   *
+   * @param obj object to compare
+   * @return true if equal
+   */
+  public boolean equals(Object obj) {
+    if (!(obj instanceof TagLogConfiguration)) {
+      return false;
+    }
+    final TagLogConfiguration other = (TagLogConfiguration) obj;
+    return other.historicalLogEnabled == historicalLogEnabled
+        && other.historicalLogInterval == historicalLogInterval
+        && other.realTimeLogEnabled == realTimeLogEnabled
+        && other.realTimeLogSpecified == realTimeLogSpecified;
+  }
+
+  /**
+   * Gets a hash code of the logging configuration.
+   *
+   * @return hash code
+   */
+  public int hashCode() {
+    return historicalLogInterval * 8
+        + (historicalLogEnabled ? 4 : 0)
+        + (realTimeLogEnabled ? 2 : 0)
+        + (realTimeLogSpecified ? 1 : 0);
+  }
+
+  /**
+   * Get the logging configuration as a human-readable string.
+   *
+   * @return logging configuration string
+   */
+  public String toString() {
+    return "Historical log enabled: "
+        + historicalLogEnabled
+        + ", historical log interval: "
+        + historicalLogInterval
+        + ", real time log enabled: "
+        + (realTimeLogSpecified ? String.valueOf(realTimeLogEnabled) : "unchanged");
+  }
+}
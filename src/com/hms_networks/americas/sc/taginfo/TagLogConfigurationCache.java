@@ -0,0 +1,108 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+
+/**
+ * Class that tracks the logging configuration of each tag, so that tag logging configurations which
+ * are already applied can be skipped instead of saved again.
+ *
+ * <p>The logging configuration of a tag is read from the tag list of the current {@link
+ * TagInfoSnapshot}, unless the tag configuration has been saved since the tag list export of that
+ * snapshot started. Saved configurations are recorded with the sequence number of the latest tag
+ * list refresh, and are discarded once a snapshot from a later refresh is published.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagLogConfigurationCache {
+
+  /** Table of tag names to their {@link SavedConfiguration} since the tag list was exported. */
+  private final Hashtable savedConfigurations = new Hashtable();
+
+  /** Sequence number of the latest tag list refresh that has started. */
+  private int refreshSequence = 0;
+
+  /**
+   * Class to hold a saved tag logging configuration and the refresh sequence number it was saved.
+   */
+  private static class SavedConfiguration {
+
+    /** Saved logging configuration, or null if the saved configuration is not known. */
+    private final TagLogConfiguration configuration;
+
+    /** Sequence number of the latest tag list refresh that had started when saved. */
+    private final int refreshSequence;
+
+    /**
+     * Constructor for a saved tag logging configuration.
+     *
+     * @param configuration saved logging configuration, or null if not known
+     * @param refreshSequence sequence number of the latest tag list refresh that had started
+     */
+    private SavedConfiguration(TagLogConfiguration configuration, int refreshSequence) {
+      this.configuration = configuration;
+      this.refreshSequence = refreshSequence;
+    }
+  }
+
+  /**
+   * Starts a new tag list refresh. Must be called before the tag list is exported.
+   *
+   * @return sequence number of the new refresh
+   */
+  synchronized int startRefresh() {
+    return ++refreshSequence;
+  }
+
+  /**
+   * Discards saved configurations which are included in the tag list of the snapshot from the
+   * specified refresh. Must be called once the snapshot has been published.
+   *
+   * @param publishedRefreshSequence sequence number of the refresh of the published snapshot
+   */
+  synchronized void snapshotPublished(int publishedRefreshSequence) {
+    Enumeration tagNames = savedConfigurations.keys();
+    while (tagNames.hasMoreElements()) {
+      final Object tagName = tagNames.nextElement();
+      if (((SavedConfiguration) savedConfigurations.get(tagName)).refreshSequence
+          < publishedRefreshSequence) {
+        savedConfigurations.remove(tagName);
+      }
+    }
+  }
+
+  /**
+   * Records that the logging configuration of the specified tag has been saved.
+   *
+   * @param tagName name of the tag
+   * @param configuration saved logging configuration, or null if the complete saved configuration
+   *     is not known
+   */
+  synchronized void recordSave(String tagName, TagLogConfiguration configuration) {
+    savedConfigurations.put(tagName, new SavedConfiguration(configuration, refreshSequence));
+  }
+
+  /**
+   * Gets if the specified tag is known to already have the specified logging configuration.
+   *
+   * @param tagName name of the tag
+   * @param configuration logging configuration
+   * @param snapshot current tag information snapshot
+   * @return true if the tag already has the logging configuration
+   */
+  synchronized boolean isApplied(
+      String tagName, TagLogConfiguration configuration, TagInfoSnapshot snapshot) {
+    final SavedConfiguration saved = (SavedConfiguration) savedConfigurations.get(tagName);
+    if (saved != null && saved.refreshSequence >= snapshot.refreshSequence) {
+      return configuration.equals(saved.configuration);
+    }
+
+    // Tags are not indexed by name if only the tag information store is built
+    if (snapshot.nameIndex == null) {
+      return false;
+    }
+    final TagInfo tagInfo = snapshot.nameIndex.get(tagName);
+    return tagInfo != null && configuration.matches(tagInfo);
+  }
+}
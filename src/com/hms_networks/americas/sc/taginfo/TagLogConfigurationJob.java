@@ -0,0 +1,281 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import com.ewon.ewonitf.EWException;
+import com.hms_networks.americas.sc.logging.Logger;
+
+/**
+ * Class to apply logging configurations to a list of tags on a background {@link Thread}. A job is
+ * started by {@link TagInfoManager#applyTagLogConfigurationsAsync(java.util.Map)} or {@link
+ * TagInfoManager#applyHistoricalLogRateForTagGroupAsync(TagGroup, String)}, and can be used to
+ * follow the progress of the job, wait for it to complete, or cancel it. Tags which already had the
+ * requested logging configuration when the job was started are skipped, and are not included in the
+ * total tag count.
+ *
+ * <p>The job pauses after each tag to leave the device time to process the configuration change.
+ * Instead of a fixed pause, the pause is paced from a moving average of the time taken to save each
+ * tag configuration, so the job runs faster when the device saves quickly, and slows down when the
+ * device is busy.
+ *
+ * <p>If the logging configuration cannot be applied to a tag, the job continues with the remaining
+ * tags. The number of failed tags and the last exception are available from {@link
+ * #getFailedTagCount()} and {@link #getLastException()}.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagLogConfigurationJob {
+
+  /**
+   * Minimum number of milliseconds to pause after applying the logging configuration to each tag.
+   */
+  private static final long MIN_PAUSE_MILLIS = 1;
+
+  /**
+   * Maximum number of milliseconds to pause after applying the logging configuration to each tag.
+   */
+  private static final long MAX_PAUSE_MILLIS = 1000;
+
+  /**
+   * Right shift applied to the difference between each new save time and the moving average of save
+   * times. A shift of 2 gives each new save time a weight of one quarter.
+   */
+  private static final int SAVE_TIME_AVERAGE_WEIGHT_SHIFT = 2;
+
+  /** Names of the tags to apply logging configurations to. */
+  private final String[] tagNames;
+
+  /** Logging configurations to apply, in the order of {@link #tagNames}. */
+  private final TagLogConfiguration[] configurations;
+
+  /** Number of tags to apply logging configurations to. */
+  private final int totalTagCount;
+
+  /** Number of tags skipped because they already had the requested logging configuration. */
+  private final int skippedTagCount;
+
+  /** Number of tags processed, including failed tags. */
+  private volatile int completedTagCount = 0;
+
+  /** Number of tags the logging configuration could not be applied to. */
+  private volatile int failedTagCount = 0;
+
+  /** Last exception thrown while applying a logging configuration, or null if none. */
+  private volatile EWException lastException = null;
+
+  /** Moving average of the time taken to save each tag configuration in milliseconds. */
+  private volatile long averageSaveMillis = 0;
+
+  /** Boolean if the job has been cancelled. */
+  private volatile boolean cancelled = false;
+
+  /** Boolean if the job has finished, either by completing all tags or by cancellation. */
+  private volatile boolean done = false;
+
+  /** Thread applying the logging configurations of the job. */
+  private final Thread thread;
+
+  /** Lock held while checking for cancellation and saving a tag configuration. */
+  private final Object saveLock = new Object();
+
+  /**
+   * Constructor for a job to apply the specified logging configurations to the first <code>
+   * totalTagCount</code> specified tags.
+   *
+   * @param tagNames names of tags to modify
+   * @param configurations new logging configurations, in the order of the tag names
+   * @param totalTagCount number of tags to modify
+   * @param skippedTagCount number of tags skipped because they already had the requested logging
+   *     configuration
+   */
+  TagLogConfigurationJob(
+      String[] tagNames,
+      TagLogConfiguration[] configurations,
+      int totalTagCount,
+      int skippedTagCount) {
+    this.tagNames = tagNames;
+    this.configurations = configurations;
+    this.totalTagCount = totalTagCount;
+    this.skippedTagCount = skippedTagCount;
+    this.thread =
+        new Thread("TagLogConfigurationJob") {
+          public void run() {
+            applyTagLogConfigurations();
+          }
+        };
+  }
+
+  /** Starts the job thread. Must only be called once, when the job is created. */
+  void start() {
+    thread.start();
+  }
+
+  /** Applies the logging configuration to each tag of the job, pausing between tags. */
+  private void applyTagLogConfigurations() {
+    try {
+      for (int x = 0; x < totalTagCount; x++) {
+        // Apply logging configuration unless cancelled, and measure save time
+        final long saveStartMillis = System.currentTimeMillis();
+        synchronized (saveLock) {
+          if (cancelled) {
+            break;
+          }
+          try {
+            TagInfoManager.applyTagLogConfiguration(tagNames[x], configurations[x]);
+          } catch (EWException e) {
+            lastException = e;
+            failedTagCount++;
+            Logger.LOG_WARN(
+                "Unable to apply logging configuration to tag " + tagNames[x] + ": " + e);
+          }
+        }
+        updateAverageSaveMillis(System.currentTimeMillis() - saveStartMillis);
+        completedTagCount++;
+
+        // Pause before next tag
+        if (x < totalTagCount - 1 && !cancelled) {
+          Thread.sleep(getPauseMillis());
+        }
+      }
+    } catch (InterruptedException e) {
+      cancelled = true;
+    } finally {
+      synchronized (this) {
+        done = true;
+        notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Adds the specified save time to the moving average of save times.
+   *
+   * @param saveMillis time taken to save a tag configuration in milliseconds
+   */
+  private void updateAverageSaveMillis(long saveMillis) {
+    if (completedTagCount == 0) {
+      averageSaveMillis = saveMillis;
+    } else {
+      averageSaveMillis =
+          averageSaveMillis + ((saveMillis - averageSaveMillis) >> SAVE_TIME_AVERAGE_WEIGHT_SHIFT);
+    }
+  }
+
+  /**
+   * Gets the number of milliseconds to pause after applying the logging configuration to a tag,
+   * paced from the moving average of save times.
+   *
+   * @return pause in milliseconds
+   */
+  private long getPauseMillis() {
+    return Math.min(MAX_PAUSE_MILLIS, Math.max(MIN_PAUSE_MILLIS, averageSaveMillis));
+  }
+
+  /**
+   * Cancels the job. Tags that have already been processed keep the new logging configuration, and
+   * the remaining tags are not modified. If a tag configuration is being saved, this method waits
+   * for the save to complete. No tag configuration is saved after this method returns, and a pause
+   * between tags is interrupted.
+   */
+  public void cancel() {
+    synchronized (saveLock) {
+      cancelled = true;
+    }
+    thread.interrupt();
+  }
+
+  /**
+   * Waits for the job to finish, either by completing all tags or by cancellation.
+   *
+   * @param timeoutMillis maximum number of milliseconds to wait, or 0 to wait indefinitely
+   * @return true if the job has finished
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public synchronized boolean waitForCompletion(long timeoutMillis) throws InterruptedException {
+    final long endMillis = System.currentTimeMillis() + timeoutMillis;
+    while (!done) {
+      if (timeoutMillis == 0) {
+        wait();
+      } else {
+        final long remainingMillis = endMillis - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+          break;
+        }
+        wait(remainingMillis);
+      }
+    }
+    return done;
+  }
+
+  /**
+   * Gets the number of tags to apply logging configurations to, excluding skipped tags.
+   *
+   * @return total tag count
+   */
+  public int getTotalTagCount() {
+    return totalTagCount;
+  }
+
+  /**
+   * Gets the number of tags skipped because they already had the requested logging configuration
+   * when the job was started.
+   *
+   * @return skipped tag count
+   */
+  public int getSkippedTagCount() {
+    return skippedTagCount;
+  }
+
+  /**
+   * Gets the number of tags processed by the job so far, including failed tags.
+   *
+   * @return completed tag count
+   */
+  public int getCompletedTagCount() {
+    return completedTagCount;
+  }
+
+  /**
+   * Gets the number of tags the logging configuration could not be applied to.
+   *
+   * @return failed tag count
+   */
+  public int getFailedTagCount() {
+    return failedTagCount;
+  }
+
+  /**
+   * Gets the last exception thrown while applying a logging configuration to a tag.
+   *
+   * @return last exception, or null if logging configurations were applied to all processed tags
+   */
+  public EWException getLastException() {
+    return lastException;
+  }
+
+  /**
+   * Gets the moving average of the time taken to save each tag configuration in milliseconds.
+   *
+   * @return average save time in milliseconds
+   */
+  public long getAverageSaveMillis() {
+    return averageSaveMillis;
+  }
+
+  /**
+   * Gets if the job has been cancelled.
+   *
+   * @return true if cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Gets if the job has finished, either by completing all tags or by cancellation.
+   *
+   * @return true if finished
+   */
+  public boolean isDone() {
+    return done;
+  }
+}
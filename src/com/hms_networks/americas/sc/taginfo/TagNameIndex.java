@@ -0,0 +1,328 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Class that indexes {@link TagInfo} objects by tag name using open-addressing hash tables. The
+ * index is immutable once constructed, so lookups require no locking and do not allocate.
+ *
+ * <p>Two tables are built: one for exact tag name matches, and one for case-insensitive matches
+ * using the same character comparison as {@link String#equalsIgnoreCase(String)}. If multiple tags
+ * have names that differ only by case, the case-insensitive table returns the first of those tags.
+ *
+ * <p>For prefix and wildcard searches, the tags are also sorted by tag name, so that the tags with
+ * names starting with a prefix are found by binary search. The sorted array is built by the first
+ * search and reused for all subsequent searches.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagNameIndex {
+
+  /** Value of an empty hash table slot. */
+  private static final int EMPTY_SLOT = 0;
+
+  /** Wildcard character matching any sequence of characters, including none. */
+  private static final char WILDCARD_ANY_SEQUENCE = '*';
+
+  /** Wildcard character matching any single character. */
+  private static final char WILDCARD_ANY_CHARACTER = '?';
+
+  /** Comparator for sorting tag information objects by tag name. */
+  private static final Comparator TAG_NAME_COMPARATOR =
+      new Comparator() {
+        public int compare(Object o1, Object o2) {
+          return ((TagInfo) o1).getName().compareTo(((TagInfo) o2).getName());
+        }
+      };
+
+  /** Indexed tag information objects. */
+  private final TagInfo[] tags;
+
+  /** Number of indexed array elements. */
+  private final int count;
+
+  /** Indexed tag information objects sorted by tag name, or null if not yet built. */
+  private volatile TagInfo[] tagsByName;
+
+  /** Exact name hash table of tag array index plus one, or {@link #EMPTY_SLOT}. */
+  private final int[] slots;
+
+  /** Case-insensitive name hash table of tag array index plus one, or {@link #EMPTY_SLOT}. */
+  private final int[] caseInsensitiveSlots;
+
+  /** Bit mask for wrapping hash table indices. */
+  private final int slotMask;
+
+  /**
+   * Constructor for a tag name index over the first <code>count</code> tag information objects of
+   * the specified array. Null array elements are skipped.
+   *
+   * @param tags tag information objects to index
+   * @param count number of array elements to index
+   */
+  TagNameIndex(TagInfo[] tags, int count) {
+    this.tags = tags;
+    this.count = count;
+
+    // Use a power of two capacity with a load factor of at most 0.5
+    int capacity = 2;
+    while (capacity < count * 2) {
+      capacity <<= 1;
+    }
+    slots = new int[capacity];
+    caseInsensitiveSlots = new int[capacity];
+    slotMask = capacity - 1;
+
+    for (int i = 0; i < count; i++) {
+      if (tags[i] != null) {
+        insert(slots, i, spread(tags[i].getName().hashCode()), false);
+        insert(caseInsensitiveSlots, i, spread(hashIgnoreCase(tags[i].getName())), true);
+      }
+    }
+  }
+
+  /**
+   * Gets the tag information object with the specified tag name.
+   *
+   * @param tagName tag name
+   * @return tag information object, or null if there is no tag with the specified name
+   */
+  TagInfo get(String tagName) {
+    int slot = spread(tagName.hashCode()) & slotMask;
+    while (slots[slot] != EMPTY_SLOT) {
+      TagInfo tagInfo = tags[slots[slot] - 1];
+      if (tagInfo.getName().equals(tagName)) {
+        return tagInfo;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+    return null;
+  }
+
+  /**
+   * Gets the tag information object with the specified tag name, ignoring case.
+   *
+   * @param tagName tag name
+   * @return tag information object, or null if there is no tag with the specified name
+   */
+  TagInfo getIgnoreCase(String tagName) {
+    int slot = spread(hashIgnoreCase(tagName)) & slotMask;
+    while (caseInsensitiveSlots[slot] != EMPTY_SLOT) {
+      TagInfo tagInfo = tags[caseInsensitiveSlots[slot] - 1];
+      if (tagInfo.getName().equalsIgnoreCase(tagName)) {
+        return tagInfo;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+    return null;
+  }
+
+  /**
+   * Gets the IDs of the tags with names starting with the specified prefix, in tag name order.
+   *
+   * @param prefix tag name prefix
+   * @return IDs of matching tags
+   */
+  int[] findTagIdsByPrefix(String prefix) {
+    final TagInfo[] sortedTags = getTagsByName();
+    final int start = findFirstNotBefore(sortedTags, prefix);
+    int end = start;
+    while (end < sortedTags.length && sortedTags[end].getName().startsWith(prefix)) {
+      end++;
+    }
+
+    int[] tagIds = new int[end - start];
+    for (int i = start; i < end; i++) {
+      tagIds[i - start] = sortedTags[i].getId();
+    }
+    return tagIds;
+  }
+
+  /**
+   * Gets the IDs of the tags with names matching the specified wildcard pattern, in tag name order.
+   * In the pattern, <code>*</code> matches any sequence of characters and <code>?</code> matches
+   * any single character. Only tags with names starting with the characters before the first
+   * wildcard are compared with the pattern.
+   *
+   * @param pattern tag name wildcard pattern
+   * @return IDs of matching tags
+   */
+  int[] findTagIdsByWildcard(String pattern) {
+    // Find range of tags starting with the pattern characters before the first wildcard
+    int literalLength = 0;
+    while (literalLength < pattern.length()
+        && pattern.charAt(literalLength) != WILDCARD_ANY_SEQUENCE
+        && pattern.charAt(literalLength) != WILDCARD_ANY_CHARACTER) {
+      literalLength++;
+    }
+    final String literalPrefix = pattern.substring(0, literalLength);
+    final TagInfo[] sortedTags = getTagsByName();
+    final int start = findFirstNotBefore(sortedTags, literalPrefix);
+    int end = start;
+    while (end < sortedTags.length && sortedTags[end].getName().startsWith(literalPrefix)) {
+      end++;
+    }
+
+    // Compare each tag in range with the pattern
+    int[] tagIds = new int[end - start];
+    int matchCount = 0;
+    for (int i = start; i < end; i++) {
+      if (wildcardMatches(pattern, literalLength, sortedTags[i].getName(), literalLength)) {
+        tagIds[matchCount++] = sortedTags[i].getId();
+      }
+    }
+    if (matchCount == tagIds.length) {
+      return tagIds;
+    }
+
+    int[] matchingTagIds = new int[matchCount];
+    System.arraycopy(tagIds, 0, matchingTagIds, 0, matchCount);
+    return matchingTagIds;
+  }
+
+  /**
+   * Gets the indexed tag information objects sorted by tag name, building the sorted array on first
+   * use.
+   *
+   * @return tag information objects sorted by tag name
+   */
+  private TagInfo[] getTagsByName() {
+    TagInfo[] sortedTags = tagsByName;
+    if (sortedTags == null) {
+      // Concurrent readers may each build the same array, which is harmless as the arrays are equal
+      int nonNullCount = 0;
+      for (int i = 0; i < count; i++) {
+        if (tags[i] != null) {
+          nonNullCount++;
+        }
+      }
+      sortedTags = new TagInfo[nonNullCount];
+      int sortedIndex = 0;
+      for (int i = 0; i < count; i++) {
+        if (tags[i] != null) {
+          sortedTags[sortedIndex++] = tags[i];
+        }
+      }
+      Arrays.sort(sortedTags, TAG_NAME_COMPARATOR);
+      tagsByName = sortedTags;
+    }
+    return sortedTags;
+  }
+
+  /**
+   * Finds the index of the first tag in the specified name-sorted array with a name not ordered
+   * before the specified name.
+   *
+   * @param sortedTags tag information objects sorted by tag name
+   * @param name name to search for
+   * @return index of the first tag with a name not before the specified name, or the array length
+   *     if none
+   */
+  private static int findFirstNotBefore(TagInfo[] sortedTags, String name) {
+    int low = 0;
+    int high = sortedTags.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (sortedTags[mid].getName().compareTo(name) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Gets if the specified string, from the specified offset, matches the specified wildcard pattern
+   * from the specified offset. When a <code>*</code> wildcard fails to match, matching resumes from
+   * the most recent <code>*</code> with one more character consumed, so no recursion or allocation
+   * is required.
+   *
+   * @param pattern wildcard pattern
+   * @param patternOffset offset in the pattern to start matching from
+   * @param string string to match
+   * @param stringOffset offset in the string to start matching from
+   * @return true if the string matches the pattern
+   */
+  private static boolean wildcardMatches(
+      String pattern, int patternOffset, String string, int stringOffset) {
+    int patternIndex = patternOffset;
+    int stringIndex = stringOffset;
+    int starPatternIndex = -1;
+    int starStringIndex = -1;
+    while (stringIndex < string.length()) {
+      if (patternIndex < pattern.length()
+          && (pattern.charAt(patternIndex) == WILDCARD_ANY_CHARACTER
+              || pattern.charAt(patternIndex) == string.charAt(stringIndex))) {
+        patternIndex++;
+        stringIndex++;
+      } else if (patternIndex < pattern.length()
+          && pattern.charAt(patternIndex) == WILDCARD_ANY_SEQUENCE) {
+        starPatternIndex = patternIndex++;
+        starStringIndex = stringIndex;
+      } else if (starPatternIndex >= 0) {
+        patternIndex = starPatternIndex + 1;
+        stringIndex = ++starStringIndex;
+      } else {
+        return false;
+      }
+    }
+
+    // Remaining pattern characters must all be * wildcards
+    while (patternIndex < pattern.length()
+        && pattern.charAt(patternIndex) == WILDCARD_ANY_SEQUENCE) {
+      patternIndex++;
+    }
+    return patternIndex == pattern.length();
+  }
+
+  /**
+   * Inserts the specified tag array index into a hash table, unless a tag with an equal name is
+   * already present.
+   *
+   * @param table hash table to insert into
+   * @param tagIndex tag array index
+   * @param hash hash of the tag name
+   * @param ignoreCase true if names are compared ignoring case
+   */
+  private void insert(int[] table, int tagIndex, int hash, boolean ignoreCase) {
+    final String tagName = tags[tagIndex].getName();
+    int slot = hash & slotMask;
+    while (table[slot] != EMPTY_SLOT) {
+      final String slotTagName = tags[table[slot] - 1].getName();
+      if (ignoreCase ? slotTagName.equalsIgnoreCase(tagName) : slotTagName.equals(tagName)) {
+        return;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+    table[slot] = tagIndex + 1;
+  }
+
+  /**
+   * Computes a hash of the specified string which is equal for strings that are equal ignoring
+   * case. The string is not copied or converted.
+   *
+   * @param string string to hash
+   * @return case-insensitive hash
+   */
+  private static int hashIgnoreCase(String string) {
+    int hash = 0;
+    final int length = string.length();
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(string.charAt(i)));
+    }
+    return hash;
+  }
+
+  /**
+   * Spreads the higher bits of a hash into the lower bits used for table indexing.
+   *
+   * @param hash hash to spread
+   * @return spread hash
+   */
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,213 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class to build and run a query of the tags in the tag list. Filters are combined with chained
+ * calls, and are evaluated against the tag information of the latest {@link
+ * TagInfoManager#refreshTagList()} call with precomputed bitset indexes, so that queries do not
+ * test or copy each tag information object.
+ *
+ * <p>A tag matches the query when it matches all of its filters. Tag group and tag type filters
+ * match tags in any of the specified tag groups or of any of the specified tag types. A query with
+ * no filters matches all tags.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagQuery {
+
+  /** Filter value matching tags regardless of the filtered property. */
+  static final int FILTER_ANY = 0;
+
+  /** Filter value matching tags with the filtered property enabled. */
+  static final int FILTER_TRUE = 1;
+
+  /** Filter value matching tags with the filtered property disabled. */
+  static final int FILTER_FALSE = 2;
+
+  /** Bit mask of tag groups to match, or 0 to match any tag group. */
+  private int groupMask = 0;
+
+  /** Bit mask of tag type integers to match, or 0 to match any tag type. */
+  private int typeMask = 0;
+
+  /** Filter value for historical logging enabled. */
+  private int historicalLogFilter = FILTER_ANY;
+
+  /** Filter value for real time logging enabled. */
+  private int realTimeLogFilter = FILTER_ANY;
+
+  /** Lowest tag ID to match. */
+  private int minTagId = Integer.MIN_VALUE;
+
+  /** Highest tag ID to match. */
+  private int maxTagId = Integer.MAX_VALUE;
+
+  /** Constructor for a tag query matching all tags. */
+  public TagQuery() {}
+
+  /**
+   * Adds the specified tag group to the tag groups matched by the query.
+   *
+   * @param tagGroup tag group to match
+   * @return this tag query
+   */
+  public TagQuery inGroup(TagGroup tagGroup) {
+    groupMask |= tagGroup.getMask();
+    return this;
+  }
+
+  /**
+   * Adds the specified tag type to the tag types matched by the query.
+   *
+   * @param tagType tag type to match
+   * @return this tag query
+   */
+  public TagQuery ofType(TagType tagType) {
+    typeMask |= 1 << tagType.getTypeInt();
+    return this;
+  }
+
+  /**
+   * Adds the tag groups in the specified tag group combination bit mask to the tag groups matched
+   * by the query.
+   *
+   * @param groupMask tag group combination bit mask
+   * @return this tag query
+   */
+  TagQuery inGroups(int groupMask) {
+    this.groupMask |= groupMask & TagGroup.ALL_GROUPS_MASK;
+    return this;
+  }
+
+  /**
+   * Sets the query to match tags with historical logging enabled or disabled.
+   *
+   * @param enabled boolean if historical logging enabled
+   * @return this tag query
+   */
+  public TagQuery historicalLogEnabled(boolean enabled) {
+    historicalLogFilter = enabled ? FILTER_TRUE : FILTER_FALSE;
+    return this;
+  }
+
+  /**
+   * Sets the query to match tags with real time logging enabled or disabled.
+   *
+   * @param enabled boolean if real time logging enabled
+   * @return this tag query
+   */
+  public TagQuery realTimeLogEnabled(boolean enabled) {
+    realTimeLogFilter = enabled ? FILTER_TRUE : FILTER_FALSE;
+    return this;
+  }
+
+  /**
+   * Sets the query to match tags with a tag ID in the specified inclusive range.
+   *
+   * @param minTagId lowest tag ID to match
+   * @param maxTagId highest tag ID to match
+   * @return this tag query
+   */
+  public TagQuery tagIdRange(int minTagId, int maxTagId) {
+    this.minTagId = minTagId;
+    this.maxTagId = maxTagId;
+    return this;
+  }
+
+  /**
+   * Gets the tag IDs of the tags matching the query, in ascending order.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     TagInfoManager#refreshTagList()}
+   * @return sorted array of matching tag IDs
+   */
+  public int[] getTagIds() throws IllegalStateException {
+    final TagBitsetIndex bitsetIndex = TagInfoManager.getTagInfoListSnapshot().bitsetIndex;
+    final int[] matchBits = bitsetIndex.evaluate(this);
+
+    int[] tagIds = new int[TagBitsetIndex.countBits(matchBits)];
+    int position = TagBitsetIndex.nextSetBit(matchBits, 0);
+    for (int i = 0; i < tagIds.length; i++) {
+      tagIds[i] = bitsetIndex.getTagId(position);
+      position = TagBitsetIndex.nextSetBit(matchBits, position + 1);
+    }
+    return tagIds;
+  }
+
+  /**
+   * Gets an iterator over the tags matching the query, in ascending tag ID order.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     TagInfoManager#refreshTagList()}
+   * @return iterator of matching tags
+   */
+  public TagIdIterator iterator() throws IllegalStateException {
+    final TagBitsetIndex bitsetIndex = TagInfoManager.getTagInfoListSnapshot().bitsetIndex;
+    return new TagIdIterator(bitsetIndex, bitsetIndex.evaluate(this));
+  }
+
+  /**
+   * Gets the number of tags matching the query.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     TagInfoManager#refreshTagList()}
+   * @return number of matching tags
+   */
+  public int count() throws IllegalStateException {
+    return TagInfoManager.getTagInfoListSnapshot().bitsetIndex.count(this);
+  }
+
+  /**
+   * Gets the bit mask of tag groups to match.
+   *
+   * @return tag group bit mask, or 0 to match any tag group
+   */
+  int getGroupMask() {
+    return groupMask;
+  }
+
+  /**
+   * Gets the bit mask of tag type integers to match.
+   *
+   * @return tag type bit mask, or 0 to match any tag type
+   */
+  int getTypeMask() {
+    return typeMask;
+  }
+
+  /**
+   * Gets the filter value for historical logging enabled.
+   *
+   * @return historical logging filter value
+   */
+  int getHistoricalLogFilter() {
+    return historicalLogFilter;
+  }
+
+  /**
+   * Gets the filter value for real time logging enabled.
+   *
+   * @return real time logging filter value
+   */
+  int getRealTimeLogFilter() {
+    return realTimeLogFilter;
+  }
+
+  /**
+   * Gets the lowest tag ID to match.
+   *
+   * @return lowest tag ID
+   */
+  int getMinTagId() {
+    return minTagId;
+  }
+
+  /**
+   * Gets the highest tag ID to match.
+   *
+   * @return highest tag ID
+   */
+  int getMaxTagId() {
+    return maxTagId;
+  }
+}
@@ -0,0 +1,287 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class that canonicalizes tag name and description strings while parsing the tag list, so that
+ * equal strings within a refresh, and across consecutive refreshes, share a single {@link String}
+ * object.
+ *
+ * <p>Strings are looked up directly from the line bytes. For lines containing only ASCII bytes, a
+ * pooled string is returned without creating a new {@link String}. Strings which were not used by a
+ * refresh are removed from the pool when the refresh finishes, so the strings of tags reused from a
+ * previous refresh must be marked as used with {@link #get(String)}.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagStringPool {
+
+  /** Initial number of slots in the pool. Must be a power of two. */
+  private static final int INITIAL_CAPACITY = 256;
+
+  /**
+   * Estimated number of bytes used by a {@link String} object and its character array, excluding
+   * the characters.
+   */
+  private static final int STRING_OVERHEAD_BYTES = 40;
+
+  /** Pooled strings of each slot, or null for empty slots. */
+  private String[] slotStrings;
+
+  /** Hash codes of the pooled strings of each slot. */
+  private int[] slotHashes;
+
+  /** Sequence number of the refresh that last used the pooled string of each slot. */
+  private int[] slotLastUsedRefresh;
+
+  /** Bit mask for wrapping slot indices. */
+  private int slotMask;
+
+  /** Number of pooled strings. */
+  private int size = 0;
+
+  /** Sequence number of the current refresh. */
+  private int refreshSequence = 0;
+
+  /** Number of strings deduplicated by the current refresh. */
+  private int deduplicatedCount = 0;
+
+  /** Estimated number of bytes saved by strings deduplicated by the current refresh. */
+  private long deduplicatedBytesSaved = 0;
+
+  /** Constructor for an empty tag string pool. */
+  TagStringPool() {
+    allocateSlots(INITIAL_CAPACITY);
+  }
+
+  /** Starts a new refresh, and resets the deduplication statistics. */
+  void startRefresh() {
+    refreshSequence++;
+    deduplicatedCount = 0;
+    deduplicatedBytesSaved = 0;
+  }
+
+  /** Finishes the current refresh, and removes strings not used by it from the pool. */
+  void finishRefresh() {
+    int usedCount = 0;
+    for (int slot = 0; slot < slotStrings.length; slot++) {
+      if (slotStrings[slot] != null && slotLastUsedRefresh[slot] == refreshSequence) {
+        usedCount++;
+      }
+    }
+    if (usedCount < size) {
+      rehash(usedCount, true);
+    }
+  }
+
+  /**
+   * Cancels the current refresh. Strings used or added by the cancelled refresh are kept as if used
+   * by the previous refresh, so that strings of the previous refresh are not removed by the next.
+   */
+  void cancelRefresh() {
+    for (int slot = 0; slot < slotStrings.length; slot++) {
+      if (slotStrings[slot] != null && slotLastUsedRefresh[slot] == refreshSequence) {
+        slotLastUsedRefresh[slot] = refreshSequence - 1;
+      }
+    }
+    refreshSequence--;
+    deduplicatedCount = 0;
+    deduplicatedBytesSaved = 0;
+  }
+
+  /**
+   * Gets the pooled string equal to the specified bytes, decoded with the default character set. If
+   * no equal string is pooled, a new string is created and added to the pool.
+   *
+   * @param bytes buffer containing the string bytes
+   * @param offset offset of the string bytes in the buffer
+   * @param length number of string bytes
+   * @return pooled string
+   */
+  String get(byte[] bytes, int offset, int length) {
+    if (length == 0) {
+      return "";
+    }
+
+    // Compute string hash code from bytes when all bytes are ASCII
+    String created = null;
+    int hash = 0;
+    for (int i = 0; i < length; i++) {
+      final byte currentByte = bytes[offset + i];
+      if (currentByte < 0) {
+        created = new String(bytes, offset, length);
+        hash = created.hashCode();
+        break;
+      }
+      hash = 31 * hash + currentByte;
+    }
+
+    // Find pooled string
+    int slot = spread(hash) & slotMask;
+    while (slotStrings[slot] != null) {
+      final String pooled = slotStrings[slot];
+      if (slotHashes[slot] == hash
+          && (created != null
+              ? pooled.equals(created)
+              : asciiEquals(pooled, bytes, offset, length))) {
+        slotLastUsedRefresh[slot] = refreshSequence;
+        deduplicatedCount++;
+        deduplicatedBytesSaved += STRING_OVERHEAD_BYTES + pooled.length() * 2;
+        return pooled;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+
+    // Add new string to pool
+    if (created == null) {
+      created = new String(bytes, offset, length);
+    }
+    add(slot, hash, created);
+    return created;
+  }
+
+  /**
+   * Gets the pooled string equal to the specified string, and marks it as used by the current
+   * refresh. If no equal string is pooled, the specified string is added to the pool and returned.
+   * Used for strings which are not parsed from tag list lines, such as the strings of tags reused
+   * from a previous refresh, or loaded from the tag information cache file.
+   *
+   * @param string string to look up
+   * @return pooled string
+   */
+  String get(String string) {
+    if (string.length() == 0) {
+      return "";
+    }
+
+    // Find pooled string
+    final int hash = string.hashCode();
+    int slot = spread(hash) & slotMask;
+    while (slotStrings[slot] != null) {
+      if (slotHashes[slot] == hash && slotStrings[slot].equals(string)) {
+        slotLastUsedRefresh[slot] = refreshSequence;
+        return slotStrings[slot];
+      }
+      slot = (slot + 1) & slotMask;
+    }
+
+    add(slot, hash, string);
+    return string;
+  }
+
+  /**
+   * Gets the number of strings deduplicated by the current refresh.
+   *
+   * @return deduplicated string count
+   */
+  int getDeduplicatedCount() {
+    return deduplicatedCount;
+  }
+
+  /**
+   * Gets the estimated number of bytes saved by strings deduplicated by the current refresh.
+   *
+   * @return estimated bytes saved
+   */
+  long getDeduplicatedBytesSaved() {
+    return deduplicatedBytesSaved;
+  }
+
+  /**
+   * Moves pooled strings to new slot arrays with capacity for the specified number of strings.
+   *
+   * @param minSize number of strings the new slot arrays must hold
+   * @param usedOnly boolean if only strings used by the current refresh are kept
+   */
+  private void rehash(int minSize, boolean usedOnly) {
+    final String[] oldStrings = slotStrings;
+    final int[] oldHashes = slotHashes;
+    final int[] oldLastUsedRefresh = slotLastUsedRefresh;
+
+    // Use a power of two capacity with a load factor of at most 0.5
+    int capacity = INITIAL_CAPACITY;
+    while (capacity < minSize * 2) {
+      capacity <<= 1;
+    }
+    allocateSlots(capacity);
+
+    for (int oldSlot = 0; oldSlot < oldStrings.length; oldSlot++) {
+      if (oldStrings[oldSlot] != null
+          && (!usedOnly || oldLastUsedRefresh[oldSlot] == refreshSequence)) {
+        int slot = spread(oldHashes[oldSlot]) & slotMask;
+        while (slotStrings[slot] != null) {
+          slot = (slot + 1) & slotMask;
+        }
+        slotStrings[slot] = oldStrings[oldSlot];
+        slotHashes[slot] = oldHashes[oldSlot];
+        slotLastUsedRefresh[slot] = oldLastUsedRefresh[oldSlot];
+        size++;
+      }
+    }
+  }
+
+  /**
+   * Adds a string to the pool, as used by the current refresh.
+   *
+   * @param emptySlot empty slot found for the string before the pool is grown
+   * @param hash string hash code
+   * @param string string to add
+   */
+  private void add(int emptySlot, int hash, String string) {
+    int slot = emptySlot;
+    if ((size + 1) * 2 > slotStrings.length) {
+      rehash(size + 1, false);
+      slot = spread(hash) & slotMask;
+      while (slotStrings[slot] != null) {
+        slot = (slot + 1) & slotMask;
+      }
+    }
+    slotStrings[slot] = string;
+    slotHashes[slot] = hash;
+    slotLastUsedRefresh[slot] = refreshSequence;
+    size++;
+  }
+
+  /**
+   * Allocates empty slot arrays with the specified capacity.
+   *
+   * @param capacity number of slots, which must be a power of two
+   */
+  private void allocateSlots(int capacity) {
+    slotStrings = new String[capacity];
+    slotHashes = new int[capacity];
+    slotLastUsedRefresh = new int[capacity];
+    slotMask = capacity - 1;
+    size = 0;
+  }
+
+  /**
+   * Gets if the specified string is equal to the specified ASCII bytes.
+   *
+   * @param string string to compare
+   * @param bytes buffer containing the ASCII bytes
+   * @param offset offset of the ASCII bytes in the buffer
+   * @param length number of ASCII bytes
+   * @return true if equal
+   */
+  private static boolean asciiEquals(String string, byte[] bytes, int offset, int length) {
+    if (string.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (string.charAt(i) != bytes[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Spreads a string hash code over the pool slots.
+   *
+   * @param hash string hash code
+   * @return spread hash
+   */
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -26,6 +26,9 @@ public class TagType {
   /** Ewon integer value for integer mapped string type. */
   public static final int INTEGER_MAPPED_STRING_INT = 7;
 
+  /** Number of possible tag type integers, from 0 to the highest tag type integer. */
+  static final int TYPE_INT_COUNT = INTEGER_MAPPED_STRING_INT + 1;
+
   /** Public instance of {@link TagType} representing boolean type. */
   public static final TagType BOOLEAN = new TagType(BOOLEAN_INT);
 
@@ -44,6 +47,18 @@ public class TagType {
   /** Public instance of {@link TagType} representing integer mapped string type. */
   public static final TagType INTEGER_MAPPED_STRING = new TagType(INTEGER_MAPPED_STRING_INT);
 
+  /** Tag types indexed by Ewon tag type integer, with null elements for invalid integers. */
+  private static final TagType[] TAG_TYPES_BY_INT = new TagType[TYPE_INT_COUNT];
+
+  static {
+    TAG_TYPES_BY_INT[BOOLEAN_INT] = BOOLEAN;
+    TAG_TYPES_BY_INT[FLOAT_INT] = FLOAT;
+    TAG_TYPES_BY_INT[INTEGER_INT] = INTEGER;
+    TAG_TYPES_BY_INT[DWORD_INT] = DWORD;
+    TAG_TYPES_BY_INT[STRING_INT] = STRING;
+    TAG_TYPES_BY_INT[INTEGER_MAPPED_STRING_INT] = INTEGER_MAPPED_STRING;
+  }
+
   /** Instance tag type integer. */
   private final int typeID;
 
@@ -59,6 +74,15 @@ public class TagType {
     this.typeID = typeID;
   }
 
+  /**
+   * Get the Ewon tag type integer of this tag type.
+   *
+   * @return Ewon tag type integer
+   */
+  int getTypeInt() {
+    return typeID;
+  }
+
   /**
    * Helper method to get the equivalent {@link TagType} for the supplied Ewon tag type integer. If
    * the specified tag type integer is not valid, null will be returned.
@@ -67,20 +91,9 @@ public class TagType {
    * @return tag type for specified int
    */
   public static TagType getTagTypeFromInt(int tagType) {
-    if (tagType == BOOLEAN_INT) {
-      return BOOLEAN;
-    } else if (tagType == FLOAT_INT) {
-      return FLOAT;
-    } else if (tagType == INTEGER_INT) {
-      return INTEGER;
-    } else if (tagType == DWORD_INT) {
-      return DWORD;
-    } else if (tagType == STRING_INT) {
-      return STRING;
-    } else if (tagType == INTEGER_MAPPED_STRING_INT) {
-      return INTEGER_MAPPED_STRING;
-    } else {
+    if (tagType < 0 || tagType >= TAG_TYPES_BY_INT.length) {
       return null;
     }
+    return TAG_TYPES_BY_INT[tagType];
   }
 }
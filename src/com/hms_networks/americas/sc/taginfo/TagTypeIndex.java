@@ -0,0 +1,60 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class that partitions tag IDs by {@link TagType}. The tag IDs of each tag type are stored in a
+ * contiguous sorted array when the index is constructed, so that tags of one type can be read and
+ * serialized together without filtering or sorting the tag list.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagTypeIndex {
+
+  /** Empty tag ID array, for tag types without tags. */
+  private static final int[] EMPTY_TAG_IDS = new int[0];
+
+  /** Sorted tag IDs of the tags of each tag type, indexed by tag type integer. */
+  private final int[][] tagIdsByType;
+
+  /**
+   * Constructor for a tag type index over the first <code>count</code> tag information objects of
+   * the specified array. Null array elements and tags of unknown tag type are skipped.
+   *
+   * @param tags tag information objects sorted by tag ID
+   * @param count number of array elements to index
+   */
+  TagTypeIndex(TagInfo[] tags, int count) {
+    tagIdsByType = new int[TagType.TYPE_INT_COUNT][];
+
+    // Count tags of each type
+    int[] typeSizes = new int[TagType.TYPE_INT_COUNT];
+    for (int i = 0; i < count; i++) {
+      if (tags[i] != null && tags[i].getType() != null) {
+        typeSizes[tags[i].getType().getTypeInt()]++;
+      }
+    }
+
+    // Store tag IDs of each type
+    for (int type = 0; type < TagType.TYPE_INT_COUNT; type++) {
+      tagIdsByType[type] = typeSizes[type] > 0 ? new int[typeSizes[type]] : EMPTY_TAG_IDS;
+      typeSizes[type] = 0;
+    }
+    for (int i = 0; i < count; i++) {
+      if (tags[i] != null && tags[i].getType() != null) {
+        final int type = tags[i].getType().getTypeInt();
+        tagIdsByType[type][typeSizes[type]++] = tags[i].getId();
+      }
+    }
+  }
+
+  /**
+   * Gets the sorted tag IDs of the tags of the specified tag type. The returned array is shared,
+   * and must not be modified.
+   *
+   * @param tagType tag type
+   * @return sorted tag IDs of the tag type
+   */
+  int[] getTagIds(TagType tagType) {
+    return tagIdsByType[tagType.getTypeInt()];
+  }
+}
@@ -0,0 +1,202 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class that parses a single line of the instant values (inst_val) export block descriptor directly
+ * from its bytes. Only the tag ID and value columns are located, and numeric values are parsed in
+ * place without creating a {@link String}.
+ *
+ * <p>A single parser instance is reused for every line of an export. Results of the last call to
+ * {@link #parse(byte[], int)} are available through the package-private fields of this class.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagValueLineParser {
+
+  /*
+   * Column indices
+   * index 0 - tag ID
+   * index 1 - name
+   * index 2 - value
+   */
+  /** Column index of the tag ID. */
+  private static final int INDEX_TAG_ID = 0;
+
+  /** Column index of the tag value. */
+  private static final int INDEX_VALUE = 2;
+
+  /** Column delimiter used in EBD lines. */
+  private static final byte COLUMN_DELIMITER = ';';
+
+  /** Quote character used in EBD lines. */
+  private static final byte QUOTE = '"';
+
+  /** Maximum number of significant digits that are exactly representable by a double. */
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  /** Powers of ten that are exactly representable by a double. */
+  private static final double[] EXACT_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** Tag ID parsed from the last line. */
+  int tagId;
+
+  /** Offset in the line of the value, excluding quotes. */
+  int valueOffset;
+
+  /** Length in bytes of the value, excluding quotes. */
+  int valueLength;
+
+  /**
+   * Parses the specified instant values line. If the line does not contain the tag ID and value
+   * columns, false is returned.
+   *
+   * @param line buffer containing the line bytes
+   * @param length number of valid bytes in the line buffer
+   * @return true if the line contained a tag ID and value
+   * @throws NumberFormatException if the tag ID column is not an integer
+   */
+  boolean parse(byte[] line, int length) {
+    int columnIndex = 0;
+    int columnStart = 0;
+    int tagIdEnd = -1;
+    boolean inQuotes = false;
+
+    for (int position = 0; position <= length; position++) {
+      if (position < length && line[position] == QUOTE) {
+        inQuotes = !inQuotes;
+      } else if (position == length || (line[position] == COLUMN_DELIMITER && !inQuotes)) {
+        if (columnIndex == INDEX_TAG_ID) {
+          tagIdEnd = position;
+        } else if (columnIndex == INDEX_VALUE) {
+          tagId = TagListLineParser.parseInt(line, 0, tagIdEnd);
+
+          // Remove surrounding quotes of string values
+          if (position - columnStart >= 2 && line[columnStart] == QUOTE) {
+            valueOffset = columnStart + 1;
+            valueLength = position - columnStart - 2;
+          } else {
+            valueOffset = columnStart;
+            valueLength = position - columnStart;
+          }
+          return true;
+        }
+        columnIndex++;
+        columnStart = position + 1;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Parses a decimal integer value, which may exceed the range of an int, without creating a {@link
+   * String}.
+   *
+   * @param line buffer containing the line bytes
+   * @param valueStart offset of the first byte of the value
+   * @param valueEnd offset after the last byte of the value
+   * @return parsed integer
+   * @throws NumberFormatException if the value is not a decimal integer
+   */
+  static long parseLong(byte[] line, int valueStart, int valueEnd) {
+    int position = valueStart;
+    boolean negative = false;
+    if (position < valueEnd && (line[position] == '-' || line[position] == '+')) {
+      negative = line[position] == '-';
+      position++;
+    }
+    if (position >= valueEnd) {
+      throw new NumberFormatException(
+          "For input string: \"" + new String(line, valueStart, valueEnd - valueStart) + "\"");
+    }
+
+    long result = 0;
+    while (position < valueEnd) {
+      final int digit = line[position] - '0';
+      if (digit < 0 || digit > 9) {
+        throw new NumberFormatException(
+            "For input string: \"" + new String(line, valueStart, valueEnd - valueStart) + "\"");
+      }
+      result = result * 10 + digit;
+      position++;
+    }
+    return negative ? -result : result;
+  }
+
+  /**
+   * Parses a decimal floating point value. Values with at most {@link #MAX_EXACT_DIGITS}
+   * significant digits and a small decimal exponent are parsed in place with a single exactly
+   * rounded multiplication or division. Other values are parsed with {@link
+   * Double#parseDouble(String)}.
+   *
+   * @param line buffer containing the line bytes
+   * @param valueStart offset of the first byte of the value
+   * @param valueEnd offset after the last byte of the value
+   * @return parsed floating point value
+   * @throws NumberFormatException if the value is not a floating point number
+   */
+  static double parseDouble(byte[] line, int valueStart, int valueEnd) {
+    int position = valueStart;
+    boolean negative = false;
+    if (position < valueEnd && (line[position] == '-' || line[position] == '+')) {
+      negative = line[position] == '-';
+      position++;
+    }
+
+    // Read significant digits and decimal point
+    long mantissa = 0;
+    int digitCount = 0;
+    int significantDigitCount = 0;
+    int decimalExponent = 0;
+    boolean afterDecimalPoint = false;
+    while (position < valueEnd) {
+      final byte currentByte = line[position];
+      if (currentByte == '.' && !afterDecimalPoint) {
+        afterDecimalPoint = true;
+      } else if (currentByte >= '0' && currentByte <= '9') {
+        digitCount++;
+        if (mantissa != 0 || currentByte != '0') {
+          significantDigitCount++;
+        }
+        if (significantDigitCount > MAX_EXACT_DIGITS) {
+          return Double.parseDouble(new String(line, valueStart, valueEnd - valueStart));
+        }
+        mantissa = mantissa * 10 + (currentByte - '0');
+        if (afterDecimalPoint) {
+          decimalExponent--;
+        }
+      } else {
+        break;
+      }
+      position++;
+    }
+
+    // Read exponent
+    if (position < valueEnd && (line[position] == 'e' || line[position] == 'E')) {
+      try {
+        decimalExponent += TagListLineParser.parseInt(line, position + 1, valueEnd);
+      } catch (NumberFormatException e) {
+        return Double.parseDouble(new String(line, valueStart, valueEnd - valueStart));
+      }
+      position = valueEnd;
+    }
+
+    // Use slow path for malformed values and exponents without an exact power of ten
+    if (digitCount == 0
+        || position != valueEnd
+        || decimalExponent <= -EXACT_POWERS_OF_TEN.length
+        || decimalExponent >= EXACT_POWERS_OF_TEN.length) {
+      return Double.parseDouble(new String(line, valueStart, valueEnd - valueStart));
+    }
+
+    double result = mantissa;
+    if (decimalExponent < 0) {
+      result /= EXACT_POWERS_OF_TEN[-decimalExponent];
+    } else {
+      result *= EXACT_POWERS_OF_TEN[decimalExponent];
+    }
+    return negative ? -result : result;
+  }
+}
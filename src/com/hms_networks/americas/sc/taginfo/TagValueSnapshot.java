@@ -0,0 +1,367 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import com.ewon.ewonitf.Exporter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Class that reads the instant values of a selected set of tags with a single instant values
+ * export, and decodes them into primitive arrays that are reused by every read. Each selected tag
+ * has an index, which is its position in the tag ID array passed to the constructor, and its value
+ * is stored at that index of the value array for its {@link TagType}:
+ *
+ * <ul>
+ *   <li>{@link TagType#BOOLEAN} values are stored in {@link #getBooleanValues()}, {@link
+ *       #getIntValues()} and {@link #getDoubleValues()}.
+ *   <li>{@link TagType#INTEGER}, {@link TagType#DWORD} and {@link TagType#INTEGER_MAPPED_STRING}
+ *       values are stored in {@link #getIntValues()} and {@link #getDoubleValues()}.
+ *   <li>{@link TagType#FLOAT} values are stored in {@link #getDoubleValues()}.
+ *   <li>{@link TagType#STRING} values, and values of tags with an unknown type, are stored in
+ *       {@link #getStringValues()}.
+ * </ul>
+ *
+ * <p>Tag types are read from the tag information of the latest {@link
+ * TagInfoManager#refreshTagList()} call, which must be called before reading values.
+ *
+ * <p>Reads are synchronized on the value snapshot, so concurrent {@link #read()} calls are
+ * serialized. Values are replaced in place by each read, so threads getting values while another
+ * thread may call {@link #read()} must also synchronize on the value snapshot.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagValueSnapshot {
+
+  /** Maximum capacity for instant values line buffer. */
+  private static final int MAX_CAPACITY_BYTES = 5000;
+
+  /** Refresh sequence number of a value snapshot whose tag types have not been resolved. */
+  private static final int UNRESOLVED_REFRESH_SEQUENCE = -1;
+
+  /** Reusable block reader for the instant values export block descriptor lines. */
+  private final TagEBDLineReader lineReader = new TagEBDLineReader(MAX_CAPACITY_BYTES, "inst_val");
+
+  /** Reusable parser for instant values lines. */
+  private final TagValueLineParser lineParser = new TagValueLineParser();
+
+  /** Tag IDs of the selected tags, indexed by tag index. */
+  private final int[] tagIds;
+
+  /** Tag IDs of the selected tags in ascending order. */
+  private final int[] sortedTagIds;
+
+  /** Tag indices of the selected tags, in the order of {@link #sortedTagIds}. */
+  private final int[] sortedTagIndices;
+
+  /** Tag types of the selected tags, or null for tags with an unknown type. */
+  private final TagType[] tagTypes;
+
+  /** Boolean values of the selected tags. */
+  private final boolean[] booleanValues;
+
+  /** Integer values of the selected tags. */
+  private final int[] intValues;
+
+  /** Floating point values of the selected tags. */
+  private final double[] doubleValues;
+
+  /** String values of the selected tags. */
+  private final String[] stringValues;
+
+  /** Boolean if the value of each selected tag was read by the last read. */
+  private final boolean[] valueRead;
+
+  /** Refresh sequence number of the tag information {@link #tagTypes} were resolved from. */
+  private int tagTypesRefreshSequence = UNRESOLVED_REFRESH_SEQUENCE;
+
+  /**
+   * Constructor for a value snapshot of the tags with the specified tag IDs. The tag index of each
+   * tag is its position in the specified array, which is copied.
+   *
+   * @param tagIds tag IDs of the tags to read
+   */
+  public TagValueSnapshot(int[] tagIds) {
+    final int tagCount = tagIds.length;
+    this.tagIds = new int[tagCount];
+    System.arraycopy(tagIds, 0, this.tagIds, 0, tagCount);
+    tagTypes = new TagType[tagCount];
+    booleanValues = new boolean[tagCount];
+    intValues = new int[tagCount];
+    doubleValues = new double[tagCount];
+    stringValues = new String[tagCount];
+    valueRead = new boolean[tagCount];
+
+    // Sort tag indices by tag ID for lookup while reading
+    sortedTagIds = new int[tagCount];
+    sortedTagIndices = new int[tagCount];
+    final long[] sortedTagIdIndices = new long[tagCount];
+    for (int index = 0; index < tagCount; index++) {
+      // Pack tag ID with tag index, keeping indices of equal tag IDs in ascending order
+      sortedTagIdIndices[index] = ((long) tagIds[index] << 32) | index;
+    }
+    Arrays.sort(sortedTagIdIndices);
+    for (int sorted = 0; sorted < tagCount; sorted++) {
+      sortedTagIds[sorted] = (int) (sortedTagIdIndices[sorted] >> 32);
+      sortedTagIndices[sorted] = (int) sortedTagIdIndices[sorted];
+    }
+  }
+
+  /**
+   * Reads the instant values of the selected tags with an instant values export.
+   *
+   * @throws IOException if the instant values export fails
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     TagInfoManager#refreshTagList()}
+   */
+  public synchronized void read() throws IOException, IllegalStateException {
+    /*
+     * Create exporter
+     *
+     * dtIV = data type: instant values
+     * ftT = file type: text
+     */
+    Exporter exporter = new Exporter("$dtIV$ftT");
+    try {
+      read(exporter);
+    } finally {
+      exporter.close();
+    }
+  }
+
+  /**
+   * Reads the instant values of the selected tags from the specified instant values export stream.
+   *
+   * @param stream instant values export stream
+   * @throws IOException if reading the stream fails
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     TagInfoManager#refreshTagList()}
+   */
+  synchronized void read(InputStream stream) throws IOException, IllegalStateException {
+    resolveTagTypes(TagInfoManager.getTagInfoSnapshot());
+    for (int index = 0; index < valueRead.length; index++) {
+      valueRead[index] = false;
+    }
+
+    // Read lines from stream in blocks, skipping the header line
+    lineReader.reset(stream);
+    try {
+      if (lineReader.nextLine()) {
+        int remainingTagCount = sortedTagIds.length;
+        while (remainingTagCount > 0 && lineReader.nextLine()) {
+          remainingTagCount -= processValueLine(lineReader.getLine(), lineReader.getLineLength());
+        }
+      }
+    } finally {
+      lineReader.reset(null);
+    }
+  }
+
+  /**
+   * Gets the number of selected tags.
+   *
+   * @return number of selected tags
+   */
+  public int getTagCount() {
+    return tagIds.length;
+  }
+
+  /**
+   * Gets the tag ID of the tag with the specified tag index.
+   *
+   * @param index tag index
+   * @return tag ID
+   */
+  public int getTagId(int index) {
+    return tagIds[index];
+  }
+
+  /**
+   * Gets the tag type of the tag with the specified tag index, as of the last read.
+   *
+   * @param index tag index
+   * @return tag type, or null if the tag type is unknown
+   */
+  public TagType getTagType(int index) {
+    return tagTypes[index];
+  }
+
+  /**
+   * Gets if the value of the tag with the specified tag index was read by the last read. A value is
+   * not read if the tag was not in the instant values export, or if its value could not be parsed.
+   *
+   * @param index tag index
+   * @return true if the value was read
+   */
+  public boolean isValueRead(int index) {
+    return valueRead[index];
+  }
+
+  /**
+   * Gets the boolean values of the selected tags, indexed by tag index. The returned array is
+   * updated in place by each read, and must not be modified.
+   *
+   * @return boolean values
+   */
+  public boolean[] getBooleanValues() {
+    return booleanValues;
+  }
+
+  /**
+   * Gets the integer values of the selected tags, indexed by tag index. {@link TagType#DWORD}
+   * values above {@link Integer#MAX_VALUE} are stored as their unsigned 32-bit representation. The
+   * returned array is updated in place by each read, and must not be modified.
+   *
+   * @return integer values
+   */
+  public int[] getIntValues() {
+    return intValues;
+  }
+
+  /**
+   * Gets the floating point values of the selected tags, indexed by tag index. The returned array
+   * is updated in place by each read, and must not be modified.
+   *
+   * @return floating point values
+   */
+  public double[] getDoubleValues() {
+    return doubleValues;
+  }
+
+  /**
+   * Gets the string values of the selected tags, indexed by tag index. The returned array is
+   * updated in place by each read, and must not be modified.
+   *
+   * @return string values
+   */
+  public String[] getStringValues() {
+    return stringValues;
+  }
+
+  /**
+   * Resolves the tag type of each selected tag from the specified tag information snapshot, unless
+   * already resolved from it.
+   *
+   * @param snapshot tag information snapshot
+   */
+  private void resolveTagTypes(TagInfoSnapshot snapshot) {
+    if (snapshot.refreshSequence == tagTypesRefreshSequence) {
+      return;
+    }
+    for (int index = 0; index < tagIds.length; index++) {
+      final int tagId = tagIds[index];
+      TagType tagType = null;
+      if (snapshot.tagCount > 0
+          && tagId >= snapshot.lowestTagId
+          && tagId <= snapshot.highestTagId) {
+        tagType = snapshot.getTagType(tagId);
+      }
+      tagTypes[index] = tagType;
+    }
+    tagTypesRefreshSequence = snapshot.refreshSequence;
+  }
+
+  /**
+   * Parse the specified line from the instant values EBD data, and stores its value for each
+   * selected tag with its tag ID.
+   *
+   * @param line buffer containing the EBD line bytes
+   * @param length number of valid bytes in the line buffer
+   * @return number of selected tags whose value was read for the first time by this line
+   */
+  private int processValueLine(byte[] line, int length) {
+    try {
+      if (!lineParser.parse(line, length)) {
+        return 0;
+      }
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+
+    // Find first selected tag with the tag ID
+    final int tagId = lineParser.tagId;
+    int low = 0;
+    int high = sortedTagIds.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (sortedTagIds[mid] < tagId) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    // Store value of each selected tag with the tag ID
+    int newlyReadCount = 0;
+    for (int sorted = low;
+        sorted < sortedTagIds.length && sortedTagIds[sorted] == tagId;
+        sorted++) {
+      final int index = sortedTagIndices[sorted];
+      if (!valueRead[index]) {
+        newlyReadCount++;
+      }
+      valueRead[index] = storeValue(index, line);
+    }
+    return newlyReadCount;
+  }
+
+  /**
+   * Stores the value parsed from the specified line for the tag with the specified tag index, in
+   * the value arrays for its tag type.
+   *
+   * @param index tag index
+   * @param line buffer containing the EBD line bytes
+   * @return true if the value was stored, false if the value could not be parsed
+   */
+  private boolean storeValue(int index, byte[] line) {
+    final int valueStart = lineParser.valueOffset;
+    final int valueEnd = valueStart + lineParser.valueLength;
+    final TagType tagType = tagTypes[index];
+    try {
+      if (tagType == TagType.FLOAT) {
+        doubleValues[index] = TagValueLineParser.parseDouble(line, valueStart, valueEnd);
+      } else if (tagType == TagType.BOOLEAN
+          || tagType == TagType.INTEGER
+          || tagType == TagType.DWORD
+          || tagType == TagType.INTEGER_MAPPED_STRING) {
+        final long value = TagValueLineParser.parseLong(line, valueStart, valueEnd);
+        intValues[index] = (int) value;
+        doubleValues[index] = value;
+        if (tagType == TagType.BOOLEAN) {
+          booleanValues[index] = value != 0;
+        }
+      } else {
+        stringValues[index] = reuseString(stringValues[index], line, valueStart, valueEnd);
+      }
+    } catch (NumberFormatException e) {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Gets a string of the specified bytes, returning the previous string when its characters equal
+   * the bytes so that unchanged string values are not created again.
+   *
+   * @param previous previous string value, or null
+   * @param line buffer containing the EBD line bytes
+   * @param valueStart offset of the first byte of the value
+   * @param valueEnd offset after the last byte of the value
+   * @return string of the value bytes
+   */
+  private static String reuseString(String previous, byte[] line, int valueStart, int valueEnd) {
+    final int length = valueEnd - valueStart;
+    if (previous != null && previous.length() == length) {
+      int position = 0;
+      while (position < length
+          && line[valueStart + position] >= 0
+          && previous.charAt(position) == line[valueStart + position]) {
+        position++;
+      }
+      if (position == length) {
+        return previous;
+      }
+    }
+    return new String(line, valueStart, length);
+  }
+}
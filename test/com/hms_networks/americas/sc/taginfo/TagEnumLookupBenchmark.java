@@ -0,0 +1,223 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+
+/**
+ * Benchmark that compares the int to string enumeration lookups of the tag information library with
+ * the lookups they replaced:
+ *
+ * <ul>
+ *   <li>Enumerated tag name lookup with a {@link Hashtable}, compared with the linear scan of an
+ *       {@link ArrayList} of enumerated tag names used before.
+ *   <li>Value lookup with {@link TagEnumMapping#resolve(int, String)}, with dense and sparse keys,
+ *       compared with the array indexed by value used before.
+ * </ul>
+ *
+ * <p>Usage: <code>TagEnumLookupBenchmark [minimumTimingMillis]</code>. Timings use {@link
+ * System#currentTimeMillis()}, as on the Ewon, so each timing repeats its lookups until it has run
+ * for at least the minimum timing duration.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagEnumLookupBenchmark {
+
+  /** Numbers of enumerated tag names to benchmark tag name lookups with. */
+  private static final int[] ENUMERATED_TAG_COUNTS = {10, 100, 500, 2000};
+
+  /** Number of tag names looked up by each tag name lookup iteration. */
+  private static final int TAG_LIST_SIZE = 5000;
+
+  /** Number of keys of each benchmarked enumeration mapping. */
+  private static final int MAPPING_KEY_COUNT = 100;
+
+  /** Key step of the sparse enumeration mapping. */
+  private static final int SPARSE_KEY_STEP = 10000;
+
+  /** Number of values looked up by each value lookup iteration. */
+  private static final int VALUE_COUNT = 10000;
+
+  /** Default minimum duration in milliseconds of each timing. */
+  private static final long DEFAULT_MINIMUM_TIMING_MILLIS = 1000;
+
+  /** Minimum duration in milliseconds of each timing. */
+  private static long minimumTimingMillis = DEFAULT_MINIMUM_TIMING_MILLIS;
+
+  /** Sum of lookup results, printed so that lookups are not removed by the compiler. */
+  private static long sink = 0;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args minimum duration in milliseconds of each timing
+   */
+  public static void main(String[] args) {
+    final long timingMillis =
+        args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_MINIMUM_TIMING_MILLIS;
+
+    // Run each benchmark once to warm up before timing
+    for (int pass = 0; pass < 2; pass++) {
+      final boolean print = pass == 1;
+      minimumTimingMillis = print ? timingMillis : 0;
+      for (int i = 0; i < ENUMERATED_TAG_COUNTS.length; i++) {
+        benchmarkTagNameLookup(ENUMERATED_TAG_COUNTS[i], print);
+      }
+      benchmarkValueLookup("dense", 1, print);
+      benchmarkValueLookup("sparse", SPARSE_KEY_STEP, print);
+    }
+    System.out.println("(sink " + sink + ")");
+  }
+
+  /**
+   * Times looking up each name of a tag list in the specified number of enumerated tag names, with
+   * a linear scan of an {@link ArrayList} and with a {@link Hashtable}. One in ten tags of the tag
+   * list is enumerated.
+   *
+   * @param enumeratedTagCount number of enumerated tag names
+   * @param print boolean if results are printed
+   */
+  private static void benchmarkTagNameLookup(int enumeratedTagCount, boolean print) {
+    // Create enumerated tag names and tag list, with distinct string objects for equal names
+    ArrayList enumeratedTagList = new ArrayList(enumeratedTagCount);
+    Hashtable enumeratedTagTable = new Hashtable(enumeratedTagCount * 2);
+    for (int i = 0; i < enumeratedTagCount; i++) {
+      final String tagName = "Tag" + (i * 10);
+      enumeratedTagList.add(tagName);
+      enumeratedTagTable.put(tagName, TagEnumMapping.fromArray(new String[] {tagName}));
+    }
+    final String[] tagNames = new String[TAG_LIST_SIZE];
+    for (int i = 0; i < TAG_LIST_SIZE; i++) {
+      tagNames[i] = new String("Tag" + i);
+    }
+
+    // Linear scan, as used before
+    long start = System.currentTimeMillis();
+    long scanMillis;
+    long scanLookups = 0;
+    do {
+      for (int i = 0; i < TAG_LIST_SIZE; i++) {
+        for (int listIndex = 0; listIndex < enumeratedTagList.size(); listIndex++) {
+          if (((String) enumeratedTagList.get(listIndex)).equals(tagNames[i])) {
+            sink += listIndex;
+            break;
+          }
+        }
+      }
+      scanLookups += TAG_LIST_SIZE;
+      scanMillis = System.currentTimeMillis() - start;
+    } while (scanMillis < minimumTimingMillis);
+
+    // Hashtable
+    start = System.currentTimeMillis();
+    long hashtableMillis;
+    long hashtableLookups = 0;
+    do {
+      for (int i = 0; i < TAG_LIST_SIZE; i++) {
+        if (enumeratedTagTable.get(tagNames[i]) != null) {
+          sink++;
+        }
+      }
+      hashtableLookups += TAG_LIST_SIZE;
+      hashtableMillis = System.currentTimeMillis() - start;
+    } while (hashtableMillis < minimumTimingMillis);
+
+    if (print) {
+      System.out.println(
+          "tag name lookup, enumerated tags: "
+              + enumeratedTagCount
+              + ", linear scan: "
+              + nanosPerOperation(scanMillis, scanLookups)
+              + " ns, Hashtable: "
+              + nanosPerOperation(hashtableMillis, hashtableLookups)
+              + " ns");
+    }
+  }
+
+  /**
+   * Times resolving values with an enumeration mapping with the specified key step, with a {@link
+   * TagEnumMapping} and with an array indexed by value. Half of the values are mapped.
+   *
+   * @param layoutName name of the expected mapping layout, for printing
+   * @param keyStep difference between consecutive mapped keys
+   * @param print boolean if results are printed
+   */
+  private static void benchmarkValueLookup(String layoutName, int keyStep, boolean print) {
+    // Create mapping and array indexed by value, as used before
+    final int[] keys = new int[MAPPING_KEY_COUNT];
+    final String[] strings = new String[MAPPING_KEY_COUNT];
+    final String[] valueIndexedStrings = new String[(MAPPING_KEY_COUNT - 1) * keyStep + 1];
+    for (int i = 0; i < MAPPING_KEY_COUNT; i++) {
+      keys[i] = i * keyStep;
+      strings[i] = "State" + i;
+      valueIndexedStrings[keys[i]] = strings[i];
+    }
+    final TagEnumMapping mapping = TagEnumMapping.create(keys, strings, MAPPING_KEY_COUNT);
+
+    // Values alternate between mapped keys and unmapped values
+    final int[] values = new int[VALUE_COUNT];
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      final int key = (i / 2 % MAPPING_KEY_COUNT) * keyStep;
+      values[i] = i % 2 == 0 ? key : key + keyStep * MAPPING_KEY_COUNT;
+    }
+
+    // Array indexed by value, as used before
+    long start = System.currentTimeMillis();
+    long arrayMillis;
+    long arrayLookups = 0;
+    do {
+      for (int i = 0; i < VALUE_COUNT; i++) {
+        final int value = values[i];
+        String resolved = null;
+        if (value >= 0 && value < valueIndexedStrings.length) {
+          resolved = valueIndexedStrings[value];
+        }
+        if (resolved != null) {
+          sink++;
+        }
+      }
+      arrayLookups += VALUE_COUNT;
+      arrayMillis = System.currentTimeMillis() - start;
+    } while (arrayMillis < minimumTimingMillis);
+
+    // Tag enumeration mapping
+    start = System.currentTimeMillis();
+    long mappingMillis;
+    long mappingLookups = 0;
+    do {
+      for (int i = 0; i < VALUE_COUNT; i++) {
+        if (mapping.resolve(values[i], null) != null) {
+          sink++;
+        }
+      }
+      mappingLookups += VALUE_COUNT;
+      mappingMillis = System.currentTimeMillis() - start;
+    } while (mappingMillis < minimumTimingMillis);
+
+    if (print) {
+      System.out.println(
+          "value lookup, "
+              + layoutName
+              + " keys (mapping dense: "
+              + mapping.isDense()
+              + "), array indexed by value: "
+              + nanosPerOperation(arrayMillis, arrayLookups)
+              + " ns with "
+              + valueIndexedStrings.length
+              + " elements, TagEnumMapping: "
+              + nanosPerOperation(mappingMillis, mappingLookups)
+              + " ns");
+    }
+  }
+
+  /**
+   * Converts a timing in milliseconds to nanoseconds per operation, rounded to one decimal place.
+   *
+   * @param millis timing in milliseconds
+   * @param operations number of operations timed
+   * @return nanoseconds per operation
+   */
+  private static String nanosPerOperation(long millis, long operations) {
+    return Double.toString(Math.round((double) millis * 10000000 / operations) / 10.0);
+  }
+}
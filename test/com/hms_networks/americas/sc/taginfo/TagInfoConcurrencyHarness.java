@@ -0,0 +1,188 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+/**
+ * Harness that reads the tag information list from multiple threads while another thread repeatedly
+ * refreshes it, alternating between canned tag list exports with different tag counts. Each list
+ * read by a reader thread is checked to be complete and consistent with a single refresh: its size
+ * matches one of the exports, and every tag in it matches the list filter.
+ *
+ * <p>Usage: <code>TagInfoConcurrencyHarness [seconds] [readerThreads] [incremental]</code>. The
+ * harness exits with status 1 if any check fails or a reader throws an exception.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagInfoConcurrencyHarness {
+
+  /** Tag counts of the canned tag list exports alternated by the refresh thread. */
+  private static final int[] TAG_COUNTS = {3000, 5000};
+
+  /** Tag group read by {@link TagInfoManager#getTagInfoListFiltered(TagGroup)}. */
+  private static final TagGroup FILTERED_TAG_GROUP = TagGroup.A;
+
+  /** Tag group read by {@link TagInfoManager#getRealTimeTagInfoListView(TagGroup)}. */
+  private static final TagGroup REAL_TIME_TAG_GROUP = TagGroup.B;
+
+  /** Boolean if the reader and refresh threads should stop. */
+  private static volatile boolean stopped = false;
+
+  /** Number of failed checks and exceptions. */
+  private static int failureCount = 0;
+
+  /** Number of lists read and checked by all reader threads. */
+  private static long readCount = 0;
+
+  /** Number of completed tag list refreshes. */
+  private static int refreshCount = 0;
+
+  /**
+   * Runs the harness.
+   *
+   * @param args run time in seconds, number of reader threads, and <code>incremental</code> to
+   *     enable incremental refresh
+   * @throws Exception if the initial tag list refresh fails
+   */
+  public static void main(String[] args) throws Exception {
+    final int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+    final int readerThreadCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+    if (args.length > 2 && args[2].equals("incremental")) {
+      TagInfoManager.enableIncrementalRefresh();
+    }
+
+    // Create exports and expected list sizes
+    final byte[][] exports = new byte[TAG_COUNTS.length][];
+    final int[] filteredSizes = new int[TAG_COUNTS.length];
+    final int[] realTimeSizes = new int[TAG_COUNTS.length];
+    for (int i = 0; i < TAG_COUNTS.length; i++) {
+      exports[i] = TagListExport.create(TAG_COUNTS[i]);
+      TagInfoManager.refreshTagList(new ByteArrayInputStream(exports[i]), TAG_COUNTS[i]);
+      filteredSizes[i] = TagInfoManager.getTagInfoListFiltered(FILTERED_TAG_GROUP).size();
+      realTimeSizes[i] = TagInfoManager.getRealTimeTagInfoListView(REAL_TIME_TAG_GROUP).size();
+    }
+
+    // Start reader threads
+    Thread[] readerThreads = new Thread[readerThreadCount];
+    for (int i = 0; i < readerThreadCount; i++) {
+      readerThreads[i] =
+          new Thread("Reader" + i) {
+            public void run() {
+              long reads = 0;
+              while (!stopped) {
+                try {
+                  checkList(
+                      "filtered",
+                      TagInfoManager.getTagInfoListFiltered(FILTERED_TAG_GROUP),
+                      filteredSizes,
+                      false);
+                  checkList(
+                      "real time view",
+                      TagInfoManager.getRealTimeTagInfoListView(REAL_TIME_TAG_GROUP),
+                      realTimeSizes,
+                      true);
+                  reads += 2;
+                } catch (Exception e) {
+                  fail("Reader exception: " + e);
+                }
+              }
+              addReads(reads);
+            }
+          };
+      readerThreads[i].start();
+    }
+
+    // Start refresh thread, alternating between exports
+    Thread refreshThread =
+        new Thread("Refresh") {
+          public void run() {
+            int export = 0;
+            while (!stopped) {
+              export = (export + 1) % exports.length;
+              try {
+                TagInfoManager.refreshTagList(
+                    new ByteArrayInputStream(exports[export]), TAG_COUNTS[export]);
+                addRefresh();
+              } catch (Exception e) {
+                fail("Refresh exception: " + e);
+              }
+            }
+          }
+        };
+    refreshThread.start();
+
+    // Stop threads after run time
+    Thread.sleep(seconds * 1000L);
+    stopped = true;
+    refreshThread.join();
+    for (int i = 0; i < readerThreadCount; i++) {
+      readerThreads[i].join();
+    }
+
+    System.out.println(
+        "refreshes: "
+            + refreshCount
+            + ", lists read: "
+            + readCount
+            + ", failures: "
+            + failureCount);
+    if (failureCount > 0 || refreshCount == 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Checks that a list read during refreshes has the size of the list of one of the exports, and
+   * that every tag in it is in the expected tag group, with real time logging if required.
+   *
+   * @param listName name of the list, for failure messages
+   * @param list list to check
+   * @param expectedSizes list sizes of each export
+   * @param realTime boolean if tags must have real time logging enabled
+   */
+  private static void checkList(String listName, List list, int[] expectedSizes, boolean realTime) {
+    boolean sizeExpected = false;
+    for (int i = 0; i < expectedSizes.length; i++) {
+      sizeExpected |= list.size() == expectedSizes[i];
+    }
+    if (!sizeExpected) {
+      fail("Unexpected " + listName + " list size " + list.size());
+    }
+
+    final TagGroup tagGroup = realTime ? REAL_TIME_TAG_GROUP : FILTERED_TAG_GROUP;
+    for (int i = 0; i < list.size(); i++) {
+      final TagInfo tagInfo = (TagInfo) list.get(i);
+      if (tagInfo == null
+          || !tagInfo.isInGroup(tagGroup)
+          || (realTime && !tagInfo.isRealTimeLogEnabled())) {
+        fail("Unexpected tag in " + listName + " list at index " + i + ": " + tagInfo);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Records a failed check or exception.
+   *
+   * @param message failure message
+   */
+  private static synchronized void fail(String message) {
+    failureCount++;
+    System.out.println(message);
+  }
+
+  /**
+   * Adds the number of lists read by a reader thread.
+   *
+   * @param reads number of lists read
+   */
+  private static synchronized void addReads(long reads) {
+    readCount += reads;
+  }
+
+  /** Records a completed tag list refresh. */
+  private static synchronized void addRefresh() {
+    refreshCount++;
+  }
+}
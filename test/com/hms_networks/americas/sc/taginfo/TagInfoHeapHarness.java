@@ -0,0 +1,88 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * Harness that measures the heap retained by the tag information of a canned tag list export, for
+ * each tag information storage mode. Each mode is run in its own JVM, as storage modes can not be
+ * disabled once enabled.
+ *
+ * <p>Usage: <code>TagInfoHeapHarness &lt;tagCount&gt; &lt;mode&gt;</code>, where mode is one of
+ * <code>list</code>, <code>lazy</code>, <code>dedup</code>, <code>store</code> or <code>storeonly
+ * </code>.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagInfoHeapHarness {
+
+  /** Number of garbage collection requests before each heap measurement. */
+  private static final int GC_REQUESTS = 5;
+
+  /** Pause in milliseconds after each garbage collection request. */
+  private static final long GC_PAUSE_MILLIS = 100;
+
+  /**
+   * Runs the harness.
+   *
+   * @param args tag count and storage mode
+   * @throws Exception if the tag list refresh fails
+   */
+  public static void main(String[] args) throws Exception {
+    final int tagCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    final String mode = args.length > 1 ? args[1] : "list";
+    if (mode.equals("lazy")) {
+      TagInfoManager.enableLazyTagDescriptions();
+    } else if (mode.equals("dedup")) {
+      TagInfoManager.enableStringDeduplication();
+    } else if (mode.equals("store")) {
+      TagInfoManager.enableTagInfoStore();
+    } else if (mode.equals("storeonly")) {
+      TagInfoManager.enableTagInfoStoreOnly();
+    } else if (!mode.equals("list")) {
+      throw new IllegalArgumentException("Unknown mode " + mode);
+    }
+    TagInfoManager.setPostRefreshMemoryPolicy(TagInfoMemoryPolicy.NEVER);
+
+    // Refresh once with a single tag, so that reused parser buffers are not measured
+    final byte[] export = TagListExport.create(tagCount);
+    TagInfoManager.refreshTagList(new ByteArrayInputStream(TagListExport.create(1)), 1);
+
+    // Measure heap retained by refreshed tag information
+    final long heapUsedBeforeBytes = getHeapUsedBytes();
+    TagInfoManager.refreshTagList(new ByteArrayInputStream(export), tagCount);
+    final long heapUsedAfterBytes = getHeapUsedBytes();
+
+    // Verify a tag can be read, keeping the export reachable until measured
+    final TagInfo tagInfo = TagInfoManager.getTagInfoFromTagId(tagCount / 2);
+    final long retainedBytes = heapUsedAfterBytes - heapUsedBeforeBytes;
+    System.out.println(
+        "mode: "
+            + mode
+            + ", tags: "
+            + tagCount
+            + ", export bytes: "
+            + export.length
+            + ", retained bytes: "
+            + retainedBytes
+            + ", bytes per tag: "
+            + retainedBytes / tagCount
+            + ", sample tag: "
+            + tagInfo.getName());
+  }
+
+  /**
+   * Gets the number of bytes of heap in use after requesting garbage collection.
+   *
+   * @return heap used in bytes
+   * @throws InterruptedException if interrupted while waiting for garbage collection
+   */
+  private static long getHeapUsedBytes() throws InterruptedException {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < GC_REQUESTS; i++) {
+      System.gc();
+      Thread.sleep(GC_PAUSE_MILLIS);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
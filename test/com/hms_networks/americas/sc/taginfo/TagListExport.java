@@ -0,0 +1,110 @@
+package com.hms_networks.americas.sc.taginfo;
+
+/**
+ * Class that creates canned tag list (var_lst) export block descriptor exports, so that harnesses
+ * can refresh the tag information list without an Ewon.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+class TagListExport {
+
+  /** Number of columns in each tag list line. */
+  private static final int COLUMN_COUNT = 62;
+
+  /** Number of tags on each generated line, used to build tag names. */
+  private static final int TAGS_PER_LINE = 100;
+
+  /** Header line of the tag list export, which is skipped by the tag list parser. */
+  private static final String HEADER_LINE = "\"Id\";\"Name\";\"Description\"";
+
+  /**
+   * Creates a tag list export with the specified number of tags, with tag IDs starting at 1. Tag
+   * names and descriptions are unique, and tag groups, logging flags and tag types vary by tag ID.
+   *
+   * @param tagCount number of tags
+   * @return tag list export bytes
+   */
+  static byte[] create(int tagCount) {
+    StringBuffer export = new StringBuffer(HEADER_LINE).append("\r\n");
+    for (int tagId = 1; tagId <= tagCount; tagId++) {
+      final int lineNumber = tagId / TAGS_PER_LINE;
+      export
+          .append(
+              line(
+                  tagId,
+                  "Line" + lineNumber + "_Motor" + tagId + "_Speed",
+                  "Speed of motor " + tagId + " on line " + lineNumber,
+                  tagId % 2 == 0,
+                  tagId % 3 == 0,
+                  tagId % (TagGroup.ALL_GROUPS_MASK + 1),
+                  tagId % 4))
+          .append("\r\n");
+    }
+    return export.toString().getBytes();
+  }
+
+  /**
+   * Creates a tag list line for the specified tag. Columns not read by the tag list parser are
+   * empty quoted strings.
+   *
+   * @param tagId tag ID
+   * @param name tag name
+   * @param description tag description
+   * @param historicalLogEnabled boolean if historical logging enabled
+   * @param realTimeLogEnabled boolean if real time logging enabled
+   * @param groupMask tag group bit mask
+   * @param type Ewon tag type integer
+   * @return tag list line, without line terminator
+   */
+  static String line(
+      int tagId,
+      String name,
+      String description,
+      boolean historicalLogEnabled,
+      boolean realTimeLogEnabled,
+      int groupMask,
+      int type) {
+    StringBuffer line = new StringBuffer();
+    for (int column = 0; column < COLUMN_COUNT; column++) {
+      if (column > 0) {
+        line.append(';');
+      }
+      if (column == 0) {
+        line.append(tagId);
+      } else if (column == 1 || column == 2) {
+        line.append('"').append(column == 1 ? name : description).append('"');
+      } else if (column == 8) {
+        line.append(historicalLogEnabled ? 1 : 0);
+      } else if (column == 15) {
+        line.append(realTimeLogEnabled ? 1 : 0);
+      } else if (column >= 25 && column <= 28) {
+        line.append((groupMask & groupMaskOfColumn(column)) != 0 ? 1 : 0);
+      } else if (column == 33) {
+        line.append(10 + tagId % 50);
+      } else if (column == 55) {
+        line.append(type);
+      } else {
+        line.append("\"\"");
+      }
+    }
+    return line.toString();
+  }
+
+  /**
+   * Gets the tag group bit mask of the specified tag group column.
+   *
+   * @param column tag group column index, from 25 to 28
+   * @return tag group bit mask
+   */
+  private static int groupMaskOfColumn(int column) {
+    if (column == 25) {
+      return TagGroup.A.getMask();
+    } else if (column == 26) {
+      return TagGroup.B.getMask();
+    } else if (column == 27) {
+      return TagGroup.C.getMask();
+    }
+    return TagGroup.D.getMask();
+  }
+}
@@ -0,0 +1,163 @@
+package com.hms_networks.americas.sc.taginfo;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * Test that reads a {@link TagValueSnapshot} from canned instant values (inst_val) exports, and
+ * checks the values read for quoted tag names containing the column delimiter, duplicate selected
+ * tag IDs, unparsable values, and stopping once all selected tags have been read.
+ *
+ * <p>Usage: <code>TagValueSnapshotTest</code>. The test exits with status 1 if any check fails.
+ *
+ * @author HMS Networks, MU Americas Solution Center
+ * @since 1.3
+ */
+public class TagValueSnapshotTest {
+
+  /** Header line of the instant values export, which is skipped by the value snapshot. */
+  private static final String HEADER_LINE =
+      "\"TagId\";\"TagName\";\"Value\";\"AlStatus\";\"AlType\";\"Quality\"";
+
+  /** Number of lines of unselected tags after the selected tags in the instant values export. */
+  private static final int UNSELECTED_LINE_COUNT = 2000;
+
+  /** Number of failed checks. */
+  private static int failureCount = 0;
+
+  /** Stream of an export which counts the number of bytes read from it. */
+  private static class CountingInputStream extends ByteArrayInputStream {
+
+    /**
+     * Constructor for a stream of the specified export bytes.
+     *
+     * @param export export bytes
+     */
+    CountingInputStream(byte[] export) {
+      super(export);
+    }
+
+    /**
+     * Gets the number of bytes read from the stream.
+     *
+     * @return number of bytes read
+     */
+    int getBytesRead() {
+      return pos;
+    }
+  }
+
+  /**
+   * Runs the test.
+   *
+   * @param args unused
+   * @throws Exception if the tag list refresh or a value read fails
+   */
+  public static void main(String[] args) throws Exception {
+    // Refresh tag list with tags of each type
+    StringBuffer tagList = new StringBuffer("\"Id\";\"Name\"\r\n");
+    tagList.append(tagListLine(1, "Pump_Running", TagType.BOOLEAN));
+    tagList.append(tagListLine(2, "Flow_Rate", TagType.FLOAT));
+    tagList.append(tagListLine(3, "Tank;Level", TagType.INTEGER));
+    tagList.append(tagListLine(4, "Counter", TagType.DWORD));
+    tagList.append(tagListLine(5, "Batch;Name", TagType.STRING));
+    tagList.append(tagListLine(6, "Setpoint", TagType.INTEGER));
+    for (int tagId = 7; tagId < 7 + UNSELECTED_LINE_COUNT; tagId++) {
+      tagList.append(tagListLine(tagId, "Unselected" + tagId, TagType.INTEGER));
+    }
+    TagInfoManager.refreshTagList(
+        new ByteArrayInputStream(tagList.toString().getBytes()), 7 + UNSELECTED_LINE_COUNT);
+
+    // Select tags out of order, with tag 3 selected twice
+    final TagValueSnapshot snapshot = new TagValueSnapshot(new int[] {3, 5, 1, 3, 6, 2, 4});
+
+    // Read export, with a later value of tag 5 after all selected tags
+    StringBuffer values = new StringBuffer(HEADER_LINE).append("\r\n");
+    values.append(valueLine(1, "Pump_Running", "1"));
+    values.append(valueLine(2, "Flow_Rate", "12.5"));
+    values.append(valueLine(3, "Tank;Level", "42"));
+    values.append(valueLine(4, "Counter", "4294967295"));
+    values.append(valueLine(5, "Batch;Name", "\"Lot;7\""));
+    values.append(valueLine(6, "Setpoint", "abc"));
+    values.append(valueLine(5, "Batch;Name", "\"Late\""));
+    for (int tagId = 7; tagId < 7 + UNSELECTED_LINE_COUNT; tagId++) {
+      values.append(valueLine(tagId, "Unselected" + tagId, "0"));
+    }
+    final byte[] export = values.toString().getBytes();
+    final CountingInputStream stream = new CountingInputStream(export);
+    snapshot.read(stream);
+
+    // Quoted tag names containing the column delimiter, and duplicate selected tag IDs
+    check(snapshot.isValueRead(0) && snapshot.getIntValues()[0] == 42, "tag 3 at index 0");
+    check(snapshot.isValueRead(3) && snapshot.getIntValues()[3] == 42, "tag 3 at index 3");
+    check(
+        snapshot.isValueRead(1) && "Lot;7".equals(snapshot.getStringValues()[1]),
+        "quoted string value of tag 5");
+
+    // Values of other tag types
+    check(snapshot.isValueRead(2) && snapshot.getBooleanValues()[2], "boolean value of tag 1");
+    check(snapshot.isValueRead(5) && snapshot.getDoubleValues()[5] == 12.5, "float value of tag 2");
+    check(
+        snapshot.isValueRead(6)
+            && snapshot.getIntValues()[6] == -1
+            && snapshot.getDoubleValues()[6] == 4294967295.0,
+        "unsigned DWORD value of tag 4");
+
+    // Unparsable value
+    check(!snapshot.isValueRead(4), "unparsable value of tag 6 not read");
+
+    // Early stop once all selected tags have been read
+    check(!"Late".equals(snapshot.getStringValues()[1]), "line after selected tags not read");
+    check(
+        stream.getBytesRead() < export.length,
+        "export read " + stream.getBytesRead() + " of " + export.length + " bytes");
+
+    // Read export with only tag 3, resetting values read by previous read
+    values = new StringBuffer(HEADER_LINE).append("\r\n");
+    values.append(valueLine(3, "Tank;Level", "43"));
+    snapshot.read(new ByteArrayInputStream(values.toString().getBytes()));
+    check(snapshot.isValueRead(0) && snapshot.getIntValues()[0] == 43, "tag 3 read again");
+    check(!snapshot.isValueRead(1) && !snapshot.isValueRead(2), "tags missing from export");
+
+    System.out.println("failures: " + failureCount);
+    if (failureCount > 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Creates a tag list line for the specified tag, terminated by a line break.
+   *
+   * @param tagId tag ID
+   * @param name tag name
+   * @param type tag type
+   * @return tag list line
+   */
+  private static String tagListLine(int tagId, String name, TagType type) {
+    return TagListExport.line(tagId, name, "", false, false, 0, type.getTypeInt()) + "\r\n";
+  }
+
+  /**
+   * Creates an instant values line for the specified tag, terminated by a line break.
+   *
+   * @param tagId tag ID
+   * @param name tag name
+   * @param value value column, including quotes for string values
+   * @return instant values line
+   */
+  private static String valueLine(int tagId, String name, String value) {
+    return tagId + ";\"" + name + "\";" + value + ";0;0;65472\r\n";
+  }
+
+  /**
+   * Records the result of a check, printing a message if it failed.
+   *
+   * @param passed boolean if the check passed
+   * @param description description of the check
+   */
+  private static void check(boolean passed, String description) {
+    if (!passed) {
+      failureCount++;
+      System.out.println("Failed: " + description);
+    }
+  }
+}